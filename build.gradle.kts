@@ -1,6 +1,7 @@
 plugins {
     java
     id("jacoco")
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "edu.trincoll"
@@ -26,6 +27,51 @@ tasks.withType<Test> {
     useJUnitPlatform()
 }
 
+// Opt-in SIMD aggregation kernels: ./gradlew test -PvectorApi=true
+val isVectorApiEnabled = providers.gradleProperty("vectorApi")
+    .map { it.toBoolean() }
+    .getOrElse(false)
+
+if (isVectorApiEnabled) {
+    sourceSets {
+        main {
+            java.srcDir("src/vector/java")
+        }
+    }
+    tasks.withType<JavaCompile>().configureEach {
+        options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector"))
+    }
+    tasks.withType<Test>().configureEach {
+        jvmArgs("--add-modules", "jdk.incubator.vector")
+    }
+}
+
+// Benchmarks live in src/jmh/java: ./gradlew jmh -PjmhIncludes=TaskAnalyzerBenchmark -PjmhSizes=1000,100000 -PjmhHeap=2g
+jmh {
+    jmhVersion = "1.37"
+    benchmarkMode = listOf("thrpt", "avgt")
+    timeUnit = "us"
+    profilers = listOf("gc")
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    // Fixed heap for the forked JVM, e.g. -PjmhHeap=12g for the 10M task corpus;
+    // without it the JVM sizes its heap from the machine.
+    providers.gradleProperty("jmhHeap").orNull?.let {
+        jvmArgs = listOf("-Xms$it", "-Xmx$it")
+    }
+    if (isVectorApiEnabled) {
+        jvmArgsAppend = listOf("--add-modules", "jdk.incubator.vector")
+    }
+    providers.gradleProperty("jmhIncludes").orNull?.let {
+        includes = it.split(",")
+    }
+    providers.gradleProperty("jmhSizes").orNull?.let {
+        benchmarkParameters.put("size", objects.listProperty<String>().value(it.split(",")))
+    }
+    resultFormat = "JSON"
+}
+
 val isJacocoReportRequested =
     gradle.startParameter.taskNames.any {
         it.contains("jacocoTestReport", ignoreCase = true)
@@ -0,0 +1,36 @@
+package edu.trincoll.benchmark;
+
+import edu.trincoll.model.Task;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Corpus parameters shared by the benchmarks. The full matrix is large; narrow
+ * it from the command line, for example
+ * {@code ./gradlew jmh -PjmhIncludes=TaskAnalyzerBenchmark -PjmhSizes=1000,100000}.
+ * The 10M corpus needs a heap of several gigabytes.
+ */
+@State(Scope.Benchmark)
+public abstract class CorpusState {
+    private static final long SEED = 42L;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"32", "4096"})
+    public int tagCardinality;
+
+    @Param({"0", "1.5"})
+    public double statusSkew;
+
+    @Param({"0", "0.1"})
+    public double nullRate;
+
+    protected List<Task> generateCorpus(LocalDateTime now) {
+        return new TaskCorpus(size, tagCardinality, statusSkew, nullRate, SEED, now).generate();
+    }
+}
@@ -0,0 +1,199 @@
+package edu.trincoll.benchmark;
+
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.model.Task;
+import edu.trincoll.service.TaskAnalyzer;
+import edu.trincoll.service.TaskPage;
+import edu.trincoll.service.TaskSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/** One benchmark per {@link TaskAnalyzer} query, plus index construction and a single update. */
+public class TaskAnalyzerBenchmark extends CorpusState {
+    private static final int PAGE_SIZE = 50;
+
+    private List<Task> tasks;
+    private TaskAnalyzer analyzer;
+    private Long existingId;
+    private String tag;
+    private List<String> tagPair;
+    private Predicate<Task> plainPredicate;
+    private TaskPredicate composedPredicate;
+    private Task updated;
+    private Task original;
+    private TaskPage.Cursor cursor;
+    private int pageOffset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = generateCorpus(LocalDateTime.now());
+        analyzer = new TaskAnalyzer(tasks);
+        existingId = (long) (size / 2 + 1);
+        tag = TaskCorpus.tag(0);
+        tagPair = List.of(TaskCorpus.tag(0), TaskCorpus.tag(1));
+        plainPredicate = task -> task.estimatedHours() != null && task.estimatedHours() > 20;
+        composedPredicate = TaskPredicate.byStatus(Task.Status.TODO)
+            .and(TaskPredicate.hasTag(tag))
+            .and(TaskPredicate.isOverdue().negate());
+        original = analyzer.findTaskById(existingId).orElseThrow();
+        updated = new Task(original.id(), original.title(), original.description(),
+            Task.Priority.CRITICAL, Task.Status.BLOCKED, Set.of(TaskCorpus.tag(1)),
+            original.createdAt(), original.dueDate(), original.estimatedHours());
+        // Halfway through the real matches, whatever the status skew.
+        pageOffset = analyzer.findByStatus(Task.Status.TODO).size() / 2;
+        TaskPage first = analyzer.page(composedPredicate, 0, PAGE_SIZE);
+        cursor = first.hasNext() ? first.next() : new TaskPage.Cursor(0, 0);
+    }
+
+    @Benchmark
+    public TaskAnalyzer build() {
+        return new TaskAnalyzer(tasks);
+    }
+
+    /** Alternates between two versions of one task so the analyzer stays the same size. */
+    @Benchmark
+    public boolean update() {
+        Task next = updated;
+        updated = original;
+        original = next;
+        return analyzer.update(next);
+    }
+
+    @Benchmark
+    public List<Task> filterTasks() {
+        return analyzer.filterTasks(plainPredicate);
+    }
+
+    @Benchmark
+    public Optional<Task> findTaskById() {
+        return analyzer.findTaskById(existingId);
+    }
+
+    @Benchmark
+    public List<Task> findByStatus() {
+        return analyzer.findByStatus(Task.Status.IN_PROGRESS);
+    }
+
+    @Benchmark
+    public List<Task> findByPriority() {
+        return analyzer.findByPriority(Task.Priority.HIGH);
+    }
+
+    @Benchmark
+    public List<Task> findByTag() {
+        return analyzer.findByTag(tag);
+    }
+
+    @Benchmark
+    public List<Task> findByAllTags() {
+        return analyzer.findByAllTags(tagPair);
+    }
+
+    @Benchmark
+    public List<Task> findByAnyTag() {
+        return analyzer.findByAnyTag(tagPair);
+    }
+
+    @Benchmark
+    public List<Task> getTopPriorityTasks() {
+        return analyzer.getTopPriorityTasks(100);
+    }
+
+    @Benchmark
+    public Map<Task.Status, List<Task>> groupByStatus() {
+        return analyzer.groupByStatus();
+    }
+
+    @Benchmark
+    public Map<Boolean, List<Task>> partitionByOverdue() {
+        return analyzer.partitionByOverdue();
+    }
+
+    /** Overdue tasks span thousands of distinct due dates, so this measures the range union. */
+    @Benchmark
+    public List<Task> filterOverdue() {
+        return analyzer.filterTasks(TaskPredicate.isOverdue());
+    }
+
+    @Benchmark
+    public Set<String> getAllUniqueTags() {
+        return analyzer.getAllUniqueTags();
+    }
+
+    @Benchmark
+    public Optional<Integer> getTotalEstimatedHours() {
+        return analyzer.getTotalEstimatedHours();
+    }
+
+    @Benchmark
+    public OptionalDouble getAverageEstimatedHours() {
+        return analyzer.getAverageEstimatedHours();
+    }
+
+    @Benchmark
+    public List<String> getTaskTitles() {
+        return analyzer.getTaskTitles();
+    }
+
+    @Benchmark
+    public List<Task> filterWithCustomPredicate() {
+        return analyzer.filterWithCustomPredicate(composedPredicate);
+    }
+
+    @Benchmark
+    public List<String> getAllTagsSorted() {
+        return analyzer.getAllTagsSorted();
+    }
+
+    @Benchmark
+    public Map<Task.Priority, Long> countTasksByPriority() {
+        return analyzer.countTasksByPriority();
+    }
+
+    @Benchmark
+    public String getTaskSummary() {
+        return analyzer.getTaskSummary(existingId);
+    }
+
+    /** A page halfway into an index-exact query, skipped to by rank. */
+    @Benchmark
+    public TaskPage pageByOffset() {
+        return analyzer.page(TaskPredicate.byStatus(Task.Status.TODO), pageOffset, PAGE_SIZE);
+    }
+
+    /** The second page of a query with a residual test, resumed from a cursor. */
+    @Benchmark
+    public TaskPage pageByCursor() {
+        return analyzer.page(composedPredicate, cursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public boolean anyMatch() {
+        return analyzer.anyMatch(plainPredicate);
+    }
+
+    @Benchmark
+    public boolean hasOverdueTasks() {
+        return analyzer.hasOverdueTasks();
+    }
+
+    @Benchmark
+    public boolean areAllTasksAssigned() {
+        return analyzer.areAllTasksAssigned();
+    }
+
+    @Benchmark
+    public TaskSummary summarize() {
+        return analyzer.summarize(EnumSet.allOf(TaskSummary.Metric.class));
+    }
+}
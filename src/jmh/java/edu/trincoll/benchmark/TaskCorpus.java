@@ -0,0 +1,119 @@
+package edu.trincoll.benchmark;
+
+import edu.trincoll.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of synthetic tasks for benchmarks.
+ *
+ * <p>Ids run from 1 to {@code size}. Each task gets up to {@link #MAX_TAGS_PER_TASK}
+ * tags drawn uniformly from {@code tagCardinality} names. Statuses follow a
+ * Zipf distribution with exponent {@code statusSkew}, so {@code 0} is uniform and
+ * larger values concentrate tasks in {@link Task.Status#TODO}. Every nullable
+ * field is independently {@code null} with probability {@code nullRate}. Due
+ * dates fall within 30 days either side of {@code now}.
+ */
+public final class TaskCorpus {
+    public static final int MAX_TAGS_PER_TASK = 4;
+
+    private final int size;
+    private final int tagCardinality;
+    private final double statusSkew;
+    private final double nullRate;
+    private final long seed;
+    private final LocalDateTime now;
+
+    public TaskCorpus(int size, int tagCardinality, double statusSkew, double nullRate, long seed, LocalDateTime now) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must not be negative: " + size);
+        }
+        if (tagCardinality <= 0) {
+            throw new IllegalArgumentException("Tag cardinality must be positive: " + tagCardinality);
+        }
+        if (statusSkew < 0) {
+            throw new IllegalArgumentException("Status skew must not be negative: " + statusSkew);
+        }
+        if (nullRate < 0 || nullRate > 1) {
+            throw new IllegalArgumentException("Null rate must be between 0 and 1: " + nullRate);
+        }
+        this.size = size;
+        this.tagCardinality = tagCardinality;
+        this.statusSkew = statusSkew;
+        this.nullRate = nullRate;
+        this.seed = seed;
+        this.now = Objects.requireNonNull(now);
+    }
+
+    public static String tag(int index) {
+        return "tag-" + index;
+    }
+
+    public List<Task> generate() {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] statusCdf = zipfCdf(Task.Status.values().length, statusSkew);
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            tasks.add(next(random, i, statusCdf));
+        }
+        return tasks;
+    }
+
+    private Task next(SplittableRandom random, long id, double[] statusCdf) {
+        Task.Priority[] priorities = Task.Priority.values();
+        LocalDateTime createdAt = now.minusMinutes(random.nextInt(60 * 24 * 90));
+        LocalDateTime dueDate = now.plusMinutes(random.nextInt(-60 * 24 * 30, 60 * 24 * 30));
+        return new Task(
+            id,
+            "Task " + id,
+            isNull(random) ? null : "Synthetic task " + id,
+            isNull(random) ? null : priorities[random.nextInt(priorities.length)],
+            isNull(random) ? null : Task.Status.values()[sample(random, statusCdf)],
+            isNull(random) ? null : tags(random),
+            isNull(random) ? null : createdAt,
+            isNull(random) ? null : dueDate,
+            isNull(random) ? null : 1 + random.nextInt(40));
+    }
+
+    private Set<String> tags(SplittableRandom random) {
+        int count = random.nextInt(MAX_TAGS_PER_TASK + 1);
+        Set<String> tags = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            tags.add(tag(random.nextInt(tagCardinality)));
+        }
+        return tags;
+    }
+
+    private boolean isNull(SplittableRandom random) {
+        return nullRate > 0 && random.nextDouble() < nullRate;
+    }
+
+    private static double[] zipfCdf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cdf[rank] = total;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cdf[rank] /= total;
+        }
+        return cdf;
+    }
+
+    private static int sample(SplittableRandom random, double[] cdf) {
+        double u = random.nextDouble();
+        for (int i = 0; i < cdf.length - 1; i++) {
+            if (u < cdf[i]) {
+                return i;
+            }
+        }
+        return cdf.length - 1;
+    }
+}
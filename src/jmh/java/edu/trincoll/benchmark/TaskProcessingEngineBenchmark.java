@@ -0,0 +1,158 @@
+package edu.trincoll.benchmark;
+
+import edu.trincoll.functional.TaskPatch;
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.functional.TaskProcessor;
+import edu.trincoll.functional.TaskTransformer;
+import edu.trincoll.model.Task;
+import edu.trincoll.processor.BatchHandle;
+import edu.trincoll.processor.SortKey;
+import edu.trincoll.processor.TaskPipeline;
+import edu.trincoll.processor.TaskProcessingEngine;
+import edu.trincoll.store.TaskStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/** One benchmark per {@link TaskProcessingEngine} operation. */
+public class TaskProcessingEngineBenchmark extends CorpusState {
+    private static final int BATCH_SIZE = 1000;
+    private static final int TOP_K = 100;
+
+    private final TaskProcessingEngine engine = new TaskProcessingEngine();
+    private List<Task> tasks;
+    private List<Task> prioritized;
+    private List<Function<List<Task>, List<Task>>> operations;
+    private TaskPipeline pipeline;
+    private TaskPredicate filter;
+    private TaskTransformer transformer;
+    private TaskPatch chain;
+    private TaskStore store;
+    private List<Comparator<Task>> sortKeys;
+    private List<Comparator<Task>> comparatorChain;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = generateCorpus(LocalDateTime.now());
+        // getHighestPriorityTaskTitle compares priorities without a null check.
+        prioritized = tasks.stream().filter(task -> task.priority() != null).toList();
+        filter = TaskPredicate.isActive().and(TaskPredicate.byPriority(Task.Priority.HIGH).negate());
+        transformer = TaskTransformer.withStatus(Task.Status.IN_PROGRESS);
+        chain = (TaskPatch) TaskTransformer.withStatus(Task.Status.DONE)
+            .andThen(TaskTransformer.withPriority(Task.Priority.LOW));
+        store = TaskStore.of(tasks);
+        operations = List.of(
+            list -> list.stream().filter(filter).collect(Collectors.toList()),
+            list -> list.stream().map(transformer).collect(Collectors.toList()),
+            list -> list.stream().limit(TOP_K).collect(Collectors.toList()));
+        pipeline = TaskPipeline.start().filter(filter).map(transformer).limit(TOP_K);
+        sortKeys = List.of(SortKey.priority().reversed(), SortKey.dueDate(), SortKey.estimatedHours());
+        comparatorChain = List.of(
+            Comparator.comparing(Task::priority, Comparator.nullsFirst(Comparator.reverseOrder())),
+            Comparator.comparing(Task::dueDate, Comparator.nullsLast(Comparator.naturalOrder())),
+            Comparator.comparing(Task::estimatedHours, Comparator.nullsLast(Comparator.naturalOrder())));
+    }
+
+    @Benchmark
+    public List<Task> processPipelineOperations() {
+        return engine.processPipeline(tasks, operations);
+    }
+
+    @Benchmark
+    public List<Task> processPipelineFused() {
+        return engine.processPipeline(tasks, pipeline);
+    }
+
+    @Benchmark
+    public Task getOrCreateDefault() {
+        return engine.getOrCreateDefault(Optional.empty(), () -> tasks.get(0));
+    }
+
+    @Benchmark
+    public void processTasksWithSideEffects(Blackhole blackhole) {
+        engine.processTasksWithSideEffects(tasks, blackhole::consume);
+    }
+
+    @Benchmark
+    public Task mergeTasks() {
+        return engine.mergeTasks(tasks.get(0), tasks.get(tasks.size() - 1), (a, b) -> b);
+    }
+
+    @Benchmark
+    public List<Task> transformAll() {
+        return engine.transformAll(tasks, transformer::apply);
+    }
+
+    /** A two-setter chain, collapsed into a single patch. */
+    @Benchmark
+    public List<Task> transformAllChained() {
+        return engine.transformAll(tasks, chain::apply);
+    }
+
+    /** The same chain applied to a columnar store in place. */
+    @Benchmark
+    public TaskStore applyPatchInPlace() {
+        store.apply(chain);
+        return store;
+    }
+
+    @Benchmark
+    public List<Task> filterAndTransform() {
+        return engine.filterAndTransform(tasks, filter, transformer);
+    }
+
+    @Benchmark
+    public void batchProcess(Blackhole blackhole) {
+        engine.batchProcess(tasks, BATCH_SIZE, batch -> blackhole.consume(batch.size()));
+    }
+
+    @Benchmark
+    public List<BatchHandle.BatchResult> batchProcessConcurrently(Blackhole blackhole) {
+        TaskProcessor processor = batch -> blackhole.consume(batch.size());
+        return engine.batchProcessConcurrently(tasks, BATCH_SIZE, 64, processor).await();
+    }
+
+    @Benchmark
+    public Optional<String> getHighestPriorityTaskTitle() {
+        return engine.getHighestPriorityTaskTitle(prioritized);
+    }
+
+    @Benchmark
+    public List<Task> selectTop() {
+        return engine.selectTop(tasks, TOP_K, sortKeys.get(0));
+    }
+
+    @Benchmark
+    public List<Task> generateTaskStream() {
+        return engine.generateTaskStream(() -> tasks.get(0)).limit(size).toList();
+    }
+
+    @Benchmark
+    public void streamPipeline(Blackhole blackhole) {
+        engine.streamPipeline(tasks.stream())
+            .filter(filter)
+            .map(transformer)
+            .forEach(blackhole::consume)
+            .join();
+    }
+
+    /** Sorts on {@link SortKey}s, which compiles to packed keys above the threshold. */
+    @Benchmark
+    public List<Task> sortBySortKeys() {
+        return engine.sortByMultipleCriteria(tasks, sortKeys);
+    }
+
+    /** The same ordering as {@link #sortBySortKeys()} through a plain comparator chain. */
+    @Benchmark
+    public List<Task> sortByComparators() {
+        return engine.sortByMultipleCriteria(tasks, comparatorChain);
+    }
+}
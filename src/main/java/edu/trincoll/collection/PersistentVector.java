@@ -0,0 +1,252 @@
+package edu.trincoll.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Immutable list stored as a 32-way trie plus a tail buffer, in the style of
+ * Clojure's persistent vector. {@link #append} and {@link #with} return new
+ * versions in O(log32 n) time that share every untouched node with this one,
+ * so keeping old versions around for snapshots or undo costs only the nodes
+ * that changed.
+ *
+ * <p>Mutating methods inherited from {@link java.util.List} throw
+ * {@link UnsupportedOperationException}.
+ */
+public final class PersistentVector<E> extends AbstractList<E> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final PersistentVector<?> EMPTY =
+        new PersistentVector<>(0, BITS, new Object[WIDTH], new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /** Builds a vector from {@code elements} in O(n), without per-element path copying. */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> copyOf(Collection<? extends E> elements) {
+        if (elements instanceof PersistentVector<?> vector) {
+            return (PersistentVector<E>) vector;
+        }
+        Object[] values = elements.toArray();
+        int size = values.length;
+        int tailOffset = tailOffset(size);
+        Object[] tail = Arrays.copyOfRange(values, tailOffset, size);
+
+        // Group full leaves into parents of 32 until a single root remains.
+        Object[][] level = new Object[tailOffset / WIDTH][];
+        for (int i = 0; i < level.length; i++) {
+            level[i] = Arrays.copyOfRange(values, i * WIDTH, (i + 1) * WIDTH);
+        }
+        int shift = BITS;
+        while (level.length > WIDTH) {
+            Object[][] parents = new Object[(level.length + MASK) / WIDTH][];
+            for (int i = 0; i < parents.length; i++) {
+                parents[i] = new Object[WIDTH];
+                System.arraycopy(level, i * WIDTH, parents[i], 0, Math.min(WIDTH, level.length - i * WIDTH));
+            }
+            level = parents;
+            shift += BITS;
+        }
+        Object[] root = new Object[WIDTH];
+        System.arraycopy(level, 0, root, 0, level.length);
+        return new PersistentVector<>(size, shift, root, tail);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return (E) leafFor(index)[index & MASK];
+    }
+
+    public PersistentVector<E> append(E element) {
+        if (size - tailOffset(size) < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        // The tail is full: push it into the trie, growing a level if the trie is full too.
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[] {element});
+    }
+
+    /** A copy with {@code element} at {@code index}, or this vector if it is already there. */
+    public PersistentVector<E> with(int index, E element) {
+        Objects.checkIndex(index, size);
+        if (leafFor(index)[index & MASK] == element) {
+            return this;
+        }
+        if (index >= tailOffset(size)) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, assoc(shift, root, index, element), tail);
+    }
+
+    /**
+     * Applies {@code mapper} to every element. Nodes in which every element maps
+     * to itself are shared with this vector rather than copied, so a transform
+     * that changes a few elements allocates little beyond the changed paths.
+     */
+    public PersistentVector<E> map(UnaryOperator<E> mapper) {
+        Object[] newRoot = mapNode(shift, root, mapper);
+        Object[] newTail = mapLeaf(tail, mapper);
+        return newRoot == root && newTail == tail ? this : new PersistentVector<>(size, shift, newRoot, newTail);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int index;
+            private Object[] leaf;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                if ((index & MASK) == 0 || leaf == null) {
+                    leaf = leafFor(index);
+                }
+                return (E) leaf[index++ & MASK];
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        for (int start = 0; start < size; start += WIDTH) {
+            Object[] leaf = leafFor(start);
+            int end = Math.min(WIDTH, size - start);
+            for (int i = 0; i < end; i++) {
+                action.accept((E) leaf[i]);
+            }
+        }
+    }
+
+    private static int tailOffset(int size) {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset(size)) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private Object[] pushTail(int level, Object[] parent) {
+        int child = ((size - 1) >>> level) & MASK;
+        Object[] copy = parent.clone();
+        if (level == BITS) {
+            copy[child] = tail;
+        } else {
+            Object[] existing = (Object[]) parent[child];
+            copy[child] = existing != null ? pushTail(level - BITS, existing) : newPath(level - BITS, tail);
+        }
+        return copy;
+    }
+
+    private static Object[] newPath(int level, Object[] leaf) {
+        if (level == 0) {
+            return leaf;
+        }
+        Object[] node = new Object[WIDTH];
+        node[0] = newPath(level - BITS, leaf);
+        return node;
+    }
+
+    private static Object[] assoc(int level, Object[] node, int index, Object element) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & MASK] = element;
+        } else {
+            int child = (index >>> level) & MASK;
+            copy[child] = assoc(level - BITS, (Object[]) node[child], index, element);
+        }
+        return copy;
+    }
+
+    private Object[] mapNode(int level, Object[] node, UnaryOperator<E> mapper) {
+        if (level == 0) {
+            return mapLeaf(node, mapper);
+        }
+        Object[] copy = null;
+        for (int i = 0; i < node.length && node[i] != null; i++) {
+            Object[] child = (Object[]) node[i];
+            Object[] mapped = mapNode(level - BITS, child, mapper);
+            if (mapped != child) {
+                if (copy == null) {
+                    copy = node.clone();
+                }
+                copy[i] = mapped;
+            }
+        }
+        return copy == null ? node : copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object[] mapLeaf(Object[] leaf, UnaryOperator<E> mapper) {
+        Object[] copy = null;
+        for (int i = 0; i < leaf.length; i++) {
+            Object mapped = mapper.apply((E) leaf[i]);
+            if (mapped != leaf[i]) {
+                if (copy == null) {
+                    copy = leaf.clone();
+                }
+                copy[i] = mapped;
+            }
+        }
+        return copy == null ? leaf : copy;
+    }
+}
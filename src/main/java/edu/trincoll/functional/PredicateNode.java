@@ -0,0 +1,132 @@
+package edu.trincoll.functional;
+
+import edu.trincoll.model.TagDictionary;
+import edu.trincoll.model.TagSet;
+import edu.trincoll.model.Task;
+
+import java.util.Objects;
+
+/**
+ * Inspectable form of the predicates built by the {@link TaskPredicate} factories
+ * and combinators, so that callers such as the analyzer's query planner can see
+ * the structure of a composed predicate instead of an opaque lambda.
+ */
+public sealed interface PredicateNode extends TaskPredicate {
+
+    record ByStatus(Task.Status status) implements PredicateNode {
+        @Override
+        public boolean test(Task task) {
+            return task.status() == status;
+        }
+    }
+
+    record ByPriority(Task.Priority priority) implements PredicateNode {
+        @Override
+        public boolean test(Task task) {
+            return task.priority() == priority;
+        }
+    }
+
+    /**
+     * Tests by {@link TagDictionary} id. Only tasks intern tags, so querying
+     * arbitrary tags never grows the dictionary. The id is looked up when the
+     * predicate is built and again while no task has the tag yet; it is not part
+     * of equality, so predicates on the same tag are always equal.
+     */
+    final class HasTag implements PredicateNode {
+        private final String tag;
+        private int tagId;
+
+        public HasTag(String tag) {
+            this.tag = tag;
+            this.tagId = TagDictionary.global().idOf(tag);
+        }
+
+        public String tag() {
+            return tag;
+        }
+
+        /** The tag's id, or {@code -1} if no task has had the tag yet. */
+        public int tagId() {
+            if (tagId < 0) {
+                tagId = TagDictionary.global().idOf(tag);
+            }
+            return tagId;
+        }
+
+        @Override
+        public boolean test(Task task) {
+            int id = tagId();
+            return id >= 0 && task.tags() instanceof TagSet tags && tags.containsId(id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof HasTag other && Objects.equals(tag, other.tag);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(tag);
+        }
+
+        @Override
+        public String toString() {
+            return "HasTag[tag=" + tag + "]";
+        }
+    }
+
+    record IsActive() implements PredicateNode {
+        @Override
+        public boolean test(Task task) {
+            return task.isActive();
+        }
+    }
+
+    record IsOverdue() implements PredicateNode {
+        @Override
+        public boolean test(Task task) {
+            return task.isOverdue();
+        }
+    }
+
+    record And(TaskPredicate left, TaskPredicate right) implements PredicateNode {
+        public And {
+            Objects.requireNonNull(left);
+            Objects.requireNonNull(right);
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return left.test(task) && right.test(task);
+        }
+    }
+
+    record Or(TaskPredicate left, TaskPredicate right) implements PredicateNode {
+        public Or {
+            Objects.requireNonNull(left);
+            Objects.requireNonNull(right);
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return left.test(task) || right.test(task);
+        }
+    }
+
+    record Not(TaskPredicate operand) implements PredicateNode {
+        public Not {
+            Objects.requireNonNull(operand);
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return !operand.test(task);
+        }
+
+        @Override
+        public TaskPredicate negate() {
+            return operand;
+        }
+    }
+}
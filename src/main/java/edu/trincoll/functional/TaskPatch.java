@@ -0,0 +1,92 @@
+package edu.trincoll.functional;
+
+import edu.trincoll.model.Task;
+
+/**
+ * Inspectable transformer that sets some of a task's fields. Chaining patches
+ * with {@link #andThen(TaskTransformer)} merges them into one patch, so a chain of
+ * setters builds at most one new {@code Task}. Applying a patch through
+ * {@code TaskStore.apply} or {@code OffHeapTaskStore.apply} writes their columns
+ * in place without building any; list-based paths such as
+ * {@code TaskProcessingEngine.transformAll} and {@code TaskAnalyzer.transform}
+ * still build one per changed task.
+ *
+ * <p>A patch returns the task itself when every field it sets already has the
+ * new value, so bulk transforms over persistent collections keep sharing
+ * unchanged tasks.
+ */
+public final class TaskPatch implements TaskTransformer {
+    private final boolean setsStatus;
+    private final Task.Status status;
+    private final boolean setsPriority;
+    private final Task.Priority priority;
+
+    private TaskPatch(boolean setsStatus, Task.Status status, boolean setsPriority, Task.Priority priority) {
+        this.setsStatus = setsStatus;
+        this.status = status;
+        this.setsPriority = setsPriority;
+        this.priority = priority;
+    }
+
+    static TaskPatch ofStatus(Task.Status status) {
+        return new TaskPatch(true, status, false, null);
+    }
+
+    static TaskPatch ofPriority(Task.Priority priority) {
+        return new TaskPatch(false, null, true, priority);
+    }
+
+    public boolean setsStatus() {
+        return setsStatus;
+    }
+
+    public Task.Status status() {
+        return status;
+    }
+
+    public boolean setsPriority() {
+        return setsPriority;
+    }
+
+    public Task.Priority priority() {
+        return priority;
+    }
+
+    @Override
+    public Task apply(Task task) {
+        Task.Status newStatus = setsStatus ? status : task.status();
+        Task.Priority newPriority = setsPriority ? priority : task.priority();
+        if (newStatus == task.status() && newPriority == task.priority()) {
+            return task;
+        }
+        return new Task(
+            task.id(),
+            task.title(),
+            task.description(),
+            newPriority,
+            newStatus,
+            task.tags(),
+            task.createdAt(),
+            task.dueDate(),
+            task.estimatedHours()
+        );
+    }
+
+    /** Merges with a following patch, whose fields win; composes any other transformer. */
+    @Override
+    public TaskTransformer andThen(TaskTransformer after) {
+        if (after instanceof TaskPatch next) {
+            return new TaskPatch(
+                setsStatus || next.setsStatus, next.setsStatus ? next.status : status,
+                setsPriority || next.setsPriority, next.setsPriority ? next.priority : priority);
+        }
+        return TaskTransformer.super.andThen(after);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskPatch[" + (setsStatus ? "status=" + status : "")
+            + (setsStatus && setsPriority ? ", " : "")
+            + (setsPriority ? "priority=" + priority : "") + "]";
+    }
+}
@@ -7,34 +7,34 @@ import java.util.function.Predicate;
 public interface TaskPredicate extends Predicate<Task> {
 
     default TaskPredicate and(TaskPredicate other) {
-        return task -> this.test(task) && other.test(task);
+        return new PredicateNode.And(this, other);
     }
 
     default TaskPredicate or(TaskPredicate other) {
-        return task -> this.test(task) || other.test(task);
+        return new PredicateNode.Or(this, other);
     }
 
     default TaskPredicate negate() {
-        return task -> !this.test(task);
+        return new PredicateNode.Not(this);
     }
 
     static TaskPredicate byStatus(Task.Status status) {
-        return task -> task.status() == status;
+        return new PredicateNode.ByStatus(status);
     }
 
     static TaskPredicate byPriority(Task.Priority priority) {
-        return task -> task.priority() == priority;
+        return new PredicateNode.ByPriority(priority);
     }
 
     static TaskPredicate hasTag(String tag) {
-        return task -> task.tags() != null && task.tags().contains(tag);
+        return new PredicateNode.HasTag(tag);
     }
 
     static TaskPredicate isOverdue() {
-        return Task::isOverdue;
+        return new PredicateNode.IsOverdue();
     }
 
     static TaskPredicate isActive() {
-        return Task::isActive;
+        return new PredicateNode.IsActive();
     }
-}
\ No newline at end of file
+}
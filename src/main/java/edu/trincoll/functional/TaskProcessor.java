@@ -1,5 +1,6 @@
 package edu.trincoll.functional;
 
+import edu.trincoll.metrics.SampledTaskLog;
 import edu.trincoll.model.Task;
 import java.util.List;
 
@@ -15,10 +16,19 @@ public interface TaskProcessor {
         };
     }
 
+    /** Prints every title synchronously; for large or frequent batches use {@link #logSampled}. */
     static TaskProcessor logTasks(String message) {
         return tasks -> {
             System.out.println(message + ": " + tasks.size() + " tasks");
             tasks.forEach(task -> System.out.println("  - " + task.title()));
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Logs every {@code sampleEvery}-th batch as one line with at most
+     * {@code maxTitles} titles, written to standard output off the caller's thread.
+     */
+    static TaskProcessor logSampled(String message, int sampleEvery, int maxTitles) {
+        return SampledTaskLog.toStandardOut(message, sampleEvery, maxTitles);
+    }
+}
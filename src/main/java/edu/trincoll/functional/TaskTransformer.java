@@ -10,31 +10,13 @@ public interface TaskTransformer extends Function<Task, Task> {
         return task -> after.apply(this.apply(task));
     }
 
+    /** Returns a {@link TaskPatch}, so chains of setters collapse into one. */
     static TaskTransformer withStatus(Task.Status newStatus) {
-        return task -> new Task(
-            task.id(),
-            task.title(),
-            task.description(),
-            task.priority(),
-            newStatus,
-            task.tags(),
-            task.createdAt(),
-            task.dueDate(),
-            task.estimatedHours()
-        );
+        return TaskPatch.ofStatus(newStatus);
     }
 
+    /** Returns a {@link TaskPatch}, so chains of setters collapse into one. */
     static TaskTransformer withPriority(Task.Priority newPriority) {
-        return task -> new Task(
-            task.id(),
-            task.title(),
-            task.description(),
-            newPriority,
-            task.status(),
-            task.tags(),
-            task.createdAt(),
-            task.dueDate(),
-            task.estimatedHours()
-        );
+        return TaskPatch.ofPriority(newPriority);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package edu.trincoll.index;
+
+import java.time.LocalDateTime;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Ordinals keyed by due date, so "due before" questions become range lookups
+ * rather than scans. Lookups cost O(log d) in the number of distinct due dates
+ * plus the size of the answer.
+ */
+public final class DueDateIndex {
+    private final NavigableMap<LocalDateTime, PostingList> byDueDate = new TreeMap<>();
+
+    public void add(int ordinal, LocalDateTime dueDate) {
+        byDueDate.computeIfAbsent(Objects.requireNonNull(dueDate), d -> new PostingList()).add(ordinal);
+    }
+
+    public void remove(int ordinal, LocalDateTime dueDate) {
+        PostingList ordinals = byDueDate.get(dueDate);
+        if (ordinals != null && ordinals.remove(ordinal) && ordinals.isEmpty()) {
+            byDueDate.remove(dueDate);
+        }
+    }
+
+    public boolean isEmpty() {
+        return byDueDate.isEmpty();
+    }
+
+    /** Ordinals due strictly before {@code time}. */
+    public PostingList dueBefore(LocalDateTime time) {
+        return union(byDueDate.headMap(time, false));
+    }
+
+    /** Ordinals due in {@code [from, to)}. */
+    public PostingList dueBetween(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return new PostingList();
+        }
+        return union(byDueDate.subMap(from, true, to, false));
+    }
+
+    public boolean anyDueBefore(LocalDateTime time) {
+        return !byDueDate.isEmpty() && byDueDate.firstKey().isBefore(time);
+    }
+
+    /** The earliest due date at or after {@code time}, or {@code null} if there is none. */
+    public LocalDateTime nextDueDate(LocalDateTime time) {
+        return byDueDate.ceilingKey(time);
+    }
+
+    private static PostingList union(NavigableMap<LocalDateTime, PostingList> range) {
+        return PostingList.union(range.values());
+    }
+}
@@ -0,0 +1,728 @@
+package edu.trincoll.index;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Compressed set of non-negative task ordinals in the style of a Roaring bitmap.
+ *
+ * <p>Ordinals are split by their high 16 bits into chunks. Sparse chunks are kept
+ * as sorted {@code char} arrays and dense chunks as 65536-bit bitmaps, so both
+ * rare tags and whole-status postings stay compact and can be intersected or
+ * unioned a chunk at a time.
+ */
+public final class PostingList {
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private char[] keys;
+    private Container[] containers;
+    private int chunkCount;
+
+    public PostingList() {
+        this(4);
+    }
+
+    private PostingList(int initialChunks) {
+        this.keys = new char[initialChunks];
+        this.containers = new Container[initialChunks];
+    }
+
+    public static PostingList of(int... ordinals) {
+        PostingList list = new PostingList();
+        for (int ordinal : ordinals) {
+            list.add(ordinal);
+        }
+        return list;
+    }
+
+    /** Returns the ordinals in {@code [from, to)}. */
+    public static PostingList range(int from, int to) {
+        PostingList list = new PostingList();
+        if (from >= to) {
+            return list;
+        }
+        for (int high = from >>> 16; high <= (to - 1) >>> 16; high++) {
+            int lo = high == from >>> 16 ? from & 0xFFFF : 0;
+            int hi = high == (to - 1) >>> 16 ? ((to - 1) & 0xFFFF) + 1 : 0x10000;
+            list.append((char) high, BitmapContainer.range(lo, hi).shrink());
+        }
+        return list;
+    }
+
+    /**
+     * The union of {@code lists} in one pass. Each chunk is accumulated into a
+     * single bitmap, so the cost is linear in the total size of the lists rather
+     * than growing with their number, as folding with {@link #or} would.
+     */
+    public static PostingList union(Collection<PostingList> lists) {
+        TreeMap<Character, long[]> chunks = new TreeMap<>();
+        for (PostingList list : lists) {
+            for (int i = 0; i < list.chunkCount; i++) {
+                list.containers[i].orInto(chunks.computeIfAbsent(list.keys[i], high -> new long[BITMAP_WORDS]));
+            }
+        }
+        PostingList result = new PostingList(Math.max(4, chunks.size()));
+        chunks.forEach((high, words) -> {
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            if (cardinality > 0) {
+                result.append(high, new BitmapContainer(words, cardinality).shrink());
+            }
+        });
+        return result;
+    }
+
+    public boolean add(int ordinal) {
+        checkOrdinal(ordinal);
+        char high = (char) (ordinal >>> 16);
+        int index = indexOf(high);
+        if (index < 0) {
+            index = -index - 1;
+            insert(index, high, new ArrayContainer());
+        }
+        int before = containers[index].cardinality();
+        containers[index] = containers[index].add((char) ordinal);
+        return containers[index].cardinality() != before;
+    }
+
+    public boolean remove(int ordinal) {
+        if (ordinal < 0) {
+            return false;
+        }
+        int index = indexOf((char) (ordinal >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        int before = containers[index].cardinality();
+        containers[index] = containers[index].remove((char) ordinal);
+        boolean removed = containers[index].cardinality() != before;
+        if (containers[index].cardinality() == 0) {
+            delete(index);
+        }
+        return removed;
+    }
+
+    public boolean contains(int ordinal) {
+        if (ordinal < 0) {
+            return false;
+        }
+        int index = indexOf((char) (ordinal >>> 16));
+        return index >= 0 && containers[index].contains((char) ordinal);
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return chunkCount == 0;
+    }
+
+    public PostingList and(PostingList other) {
+        PostingList result = new PostingList(Math.min(chunkCount, other.chunkCount) + 1);
+        int i = 0;
+        int j = 0;
+        while (i < chunkCount && j < other.chunkCount) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container chunk = containers[i].and(other.containers[j]);
+                if (chunk.cardinality() > 0) {
+                    result.append(keys[i], chunk);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public PostingList or(PostingList other) {
+        PostingList result = new PostingList(chunkCount + other.chunkCount + 1);
+        int i = 0;
+        int j = 0;
+        while (i < chunkCount || j < other.chunkCount) {
+            if (j == other.chunkCount || (i < chunkCount && keys[i] < other.keys[j])) {
+                result.append(keys[i], containers[i].copy());
+                i++;
+            } else if (i == chunkCount || keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.append(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public PostingList andNot(PostingList other) {
+        PostingList result = new PostingList(chunkCount + 1);
+        int j = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            while (j < other.chunkCount && other.keys[j] < keys[i]) {
+                j++;
+            }
+            Container chunk = j < other.chunkCount && other.keys[j] == keys[i]
+                ? containers[i].andNot(other.containers[j])
+                : containers[i].copy();
+            if (chunk.cardinality() > 0) {
+                result.append(keys[i], chunk);
+            }
+        }
+        return result;
+    }
+
+    public PostingList copy() {
+        PostingList result = new PostingList(chunkCount + 1);
+        for (int i = 0; i < chunkCount; i++) {
+            result.append(keys[i], containers[i].copy());
+        }
+        return result;
+    }
+
+    /** Visits the ordinals in ascending order. */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < chunkCount; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    /** Iterates the ordinals in ascending order without materializing them. */
+    public PrimitiveIterator.OfInt iterator() {
+        return iterator(0);
+    }
+
+    /** Iterates the ordinals {@code >= from} in ascending order, seeking straight to them. */
+    public PrimitiveIterator.OfInt iterator(int from) {
+        int start = from < 0 ? 0 : indexOf((char) (from >>> 16));
+        int startChunk = start >= 0 ? start : -start - 1;
+        int startLow = from < 0 || start < 0 ? 0 : from & 0xFFFF;
+        return new PrimitiveIterator.OfInt() {
+            private int chunk;
+            private int next = advance(startChunk, startLow);
+
+            // Finds the first ordinal at or after (chunk index, low bits).
+            private int advance(int index, int low) {
+                for (chunk = index; chunk < chunkCount; chunk++, low = 0) {
+                    int value = low > 0xFFFF ? -1 : containers[chunk].nextValue(low);
+                    if (value >= 0) {
+                        return keys[chunk] << 16 | value;
+                    }
+                }
+                return -1;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                int current = next;
+                next = advance(chunk, (current & 0xFFFF) + 1);
+                return current;
+            }
+        };
+    }
+
+    /** Lazy ascending stream; short-circuiting operations stop pulling early. */
+    public IntStream stream() {
+        return StreamSupport.intStream(Spliterators.spliterator(iterator(), cardinality(),
+            Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    /** Lazy ascending stream of the ordinals {@code >= from}. */
+    public IntStream stream(int from) {
+        return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(iterator(from),
+            Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    /** The ordinal with {@code rank} smaller ordinals, or {@code -1} if there are too few. */
+    public int select(int rank) {
+        if (rank < 0) {
+            return -1;
+        }
+        for (int i = 0; i < chunkCount; i++) {
+            int chunkCardinality = containers[i].cardinality();
+            if (rank < chunkCardinality) {
+                return keys[i] << 16 | containers[i].select(rank);
+            }
+            rank -= chunkCardinality;
+        }
+        return -1;
+    }
+
+    /** The number of ordinals smaller than {@code ordinal}. */
+    public int rank(int ordinal) {
+        if (ordinal <= 0) {
+            return 0;
+        }
+        char high = (char) (ordinal >>> 16);
+        int rank = 0;
+        for (int i = 0; i < chunkCount && keys[i] <= high; i++) {
+            rank += keys[i] < high ? containers[i].cardinality() : containers[i].rank((char) ordinal);
+        }
+        return rank;
+    }
+
+    public int[] toArray() {
+        int[] result = new int[cardinality()];
+        int[] position = {0};
+        forEach(ordinal -> result[position[0]++] = ordinal);
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PostingList other && Arrays.equals(toArray(), other.toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private int indexOf(char high) {
+        // Ordinals are usually added in ascending order, so check the last chunk first.
+        if (chunkCount > 0 && keys[chunkCount - 1] == high) {
+            return chunkCount - 1;
+        }
+        return Arrays.binarySearch(keys, 0, chunkCount, high);
+    }
+
+    private void append(char high, Container container) {
+        insert(chunkCount, high, container);
+    }
+
+    private void insert(int index, char high, Container container) {
+        if (chunkCount == keys.length) {
+            int capacity = Math.max(4, chunkCount * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, chunkCount - index);
+        System.arraycopy(containers, index, containers, index + 1, chunkCount - index);
+        keys[index] = high;
+        containers[index] = container;
+        chunkCount++;
+    }
+
+    private void delete(int index) {
+        System.arraycopy(keys, index + 1, keys, index, chunkCount - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, chunkCount - index - 1);
+        containers[--chunkCount] = null;
+    }
+
+    private static void checkOrdinal(int ordinal) {
+        if (ordinal < 0) {
+            throw new IllegalArgumentException("Ordinal must not be negative: " + ordinal);
+        }
+    }
+
+    private sealed interface Container permits ArrayContainer, BitmapContainer {
+        int cardinality();
+
+        boolean contains(char value);
+
+        Container add(char value);
+
+        Container remove(char value);
+
+        Container and(Container other);
+
+        Container or(Container other);
+
+        Container andNot(Container other);
+
+        Container copy();
+
+        void forEach(int base, IntConsumer action);
+
+        /** Smallest value {@code >= from}, or {@code -1} if there is none. */
+        int nextValue(int from);
+
+        /** Sets the bits of this container's values in a bitmap's words. */
+        void orInto(long[] words);
+
+        /** The value with {@code rank} smaller values; {@code rank} is below the cardinality. */
+        int select(int rank);
+
+        /** The number of values smaller than {@code value}. */
+        int rank(char value);
+    }
+
+    private static final class ArrayContainer implements Container {
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        public Container add(char value) {
+            int index = cardinality > 0 && values[cardinality - 1] < value
+                ? -cardinality - 1
+                : Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                return toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, Math.max(4, cardinality * 2)));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        public Container and(Container other) {
+            char[] result = new char[cardinality];
+            int count = 0;
+            if (other instanceof ArrayContainer array) {
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        result[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result[count++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        public Container or(Container other) {
+            if (other instanceof BitmapContainer bitmap) {
+                return bitmap.or(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            char[] result = new char[cardinality + array.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j == array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+                    result[count++] = values[i++];
+                } else if (i == cardinality || values[i] > array.values[j]) {
+                    result[count++] = array.values[j++];
+                } else {
+                    result[count++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            ArrayContainer union = new ArrayContainer(result, count);
+            return count > ARRAY_LIMIT ? union.toBitmap() : union;
+        }
+
+        @Override
+        public Container andNot(Container other) {
+            char[] result = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        public Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(1, cardinality)), cardinality);
+        }
+
+        @Override
+        public void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(base | values[i]);
+            }
+        }
+
+        @Override
+        public int nextValue(int from) {
+            int index = Arrays.binarySearch(values, 0, cardinality, (char) from);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return index < cardinality ? values[index] : -1;
+        }
+
+        @Override
+        public int select(int rank) {
+            return values[rank];
+        }
+
+        @Override
+        public void orInto(long[] words) {
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+        }
+
+        @Override
+        public int rank(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer(new long[BITMAP_WORDS], 0);
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer implements Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        static BitmapContainer range(int from, int to) {
+            long[] words = new long[BITMAP_WORDS];
+            for (int bit = from; bit < to; ) {
+                int word = bit >>> 6;
+                int end = Math.min(to, (word + 1) << 6);
+                int width = end - bit;
+                long mask = width == 64 ? -1L : ((1L << width) - 1) << (bit & 63);
+                words[word] |= mask;
+                bit = end;
+            }
+            return new BitmapContainer(words, to - from);
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        public Container add(char value) {
+            long before = words[value >>> 6];
+            words[value >>> 6] = before | (1L << value);
+            if (before != words[value >>> 6]) {
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            long before = words[value >>> 6];
+            words[value >>> 6] = before & ~(1L << value);
+            if (before != words[value >>> 6]) {
+                cardinality--;
+            }
+            return shrink();
+        }
+
+        @Override
+        public Container and(Container other) {
+            if (other instanceof ArrayContainer array) {
+                return array.and(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            long[] result = new long[BITMAP_WORDS];
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] = words[i] & otherWords[i];
+                count += Long.bitCount(result[i]);
+            }
+            return new BitmapContainer(result, count).shrink();
+        }
+
+        @Override
+        public Container or(Container other) {
+            long[] result = words.clone();
+            if (other instanceof ArrayContainer array) {
+                BitmapContainer union = new BitmapContainer(result, cardinality);
+                for (int i = 0; i < array.cardinality; i++) {
+                    union.add(array.values[i]);
+                }
+                return union;
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] |= otherWords[i];
+                count += Long.bitCount(result[i]);
+            }
+            return new BitmapContainer(result, count);
+        }
+
+        @Override
+        public Container andNot(Container other) {
+            BitmapContainer result = new BitmapContainer(words.clone(), cardinality);
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    char value = array.values[i];
+                    if (result.contains(value)) {
+                        result.words[value >>> 6] &= ~(1L << value);
+                        result.cardinality--;
+                    }
+                }
+                return result.shrink();
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result.words[i] &= ~otherWords[i];
+                count += Long.bitCount(result.words[i]);
+            }
+            result.cardinality = count;
+            return result.shrink();
+        }
+
+        @Override
+        public Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        public void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    action.accept(base | (i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        public int nextValue(int from) {
+            int index = from >>> 6;
+            long word = words[index] & (-1L << from);
+            while (word == 0) {
+                if (++index == BITMAP_WORDS) {
+                    return -1;
+                }
+                word = words[index];
+            }
+            return (index << 6) | Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        public int select(int rank) {
+            for (int i = 0; ; i++) {
+                int count = Long.bitCount(words[i]);
+                if (rank < count) {
+                    long word = words[i];
+                    for (; rank > 0; rank--) {
+                        word &= word - 1;
+                    }
+                    return (i << 6) | Long.numberOfTrailingZeros(word);
+                }
+                rank -= count;
+            }
+        }
+
+        @Override
+        public void orInto(long[] target) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                target[i] |= words[i];
+            }
+        }
+
+        @Override
+        public int rank(char value) {
+            int rank = 0;
+            for (int i = 0; i < value >>> 6; i++) {
+                rank += Long.bitCount(words[i]);
+            }
+            return rank + Long.bitCount(words[value >>> 6] & ((1L << value) - 1));
+        }
+
+        Container shrink() {
+            if (cardinality > ARRAY_LIMIT) {
+                return this;
+            }
+            char[] values = new char[Math.max(1, cardinality)];
+            int[] count = {0};
+            forEach(0, value -> values[count[0]++] = (char) value);
+            return new ArrayContainer(values, cardinality);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package edu.trincoll.metrics;
+
+import java.lang.management.ManagementFactory;
+
+/** Per-thread allocation counter of the HotSpot thread MXBean, where available. */
+final class Allocation {
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private Allocation() {
+    }
+
+    /** Bytes allocated so far by the current thread, or {@code -1} if unsupported. */
+    static long currentThreadBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()
+                && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }
+        return null;
+    }
+}
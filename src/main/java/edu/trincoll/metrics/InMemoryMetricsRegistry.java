@@ -0,0 +1,59 @@
+package edu.trincoll.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps running totals and a {@link LatencyHistogram} per operation name.
+ * Recording does not lock; only the first sample of a new operation allocates.
+ */
+public final class InMemoryMetricsRegistry implements MetricsRecorder {
+    private final ConcurrentHashMap<String, Operation> operations = new ConcurrentHashMap<>();
+
+    @Override
+    public void record(String operation, long inputCount, long outputCount, long elapsedNanos, long allocatedBytes) {
+        Operation metrics = operations.get(operation);
+        if (metrics == null) {
+            metrics = operations.computeIfAbsent(operation, name -> new Operation());
+        }
+        metrics.calls.increment();
+        metrics.inputs.add(inputCount);
+        metrics.outputs.add(outputCount);
+        if (allocatedBytes >= 0) {
+            metrics.allocated.add(allocatedBytes);
+        }
+        metrics.latency.record(elapsedNanos);
+    }
+
+    public Optional<OperationStats> stats(String operation) {
+        return Optional.ofNullable(operations.get(operation)).map(metrics -> metrics.stats(operation));
+    }
+
+    /** Stats for every operation recorded so far, by operation name. */
+    public Map<String, OperationStats> snapshot() {
+        Map<String, OperationStats> snapshot = new TreeMap<>();
+        operations.forEach((name, metrics) -> snapshot.put(name, metrics.stats(name)));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    public void reset() {
+        operations.clear();
+    }
+
+    private static final class Operation {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder inputs = new LongAdder();
+        private final LongAdder outputs = new LongAdder();
+        private final LongAdder allocated = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        OperationStats stats(String name) {
+            return new OperationStats(name, calls.sum(), inputs.sum(), outputs.sum(), allocated.sum(),
+                latency.mean(), latency.valueAtPercentile(50), latency.valueAtPercentile(99), latency.max());
+        }
+    }
+}
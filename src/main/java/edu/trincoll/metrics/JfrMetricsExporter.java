@@ -0,0 +1,30 @@
+package edu.trincoll.metrics;
+
+import jdk.jfr.EventType;
+
+/**
+ * Emits every sample as an {@code edu.trincoll.Operation} JFR event. It is only
+ * enabled while a recording has that event turned on, so with no recording
+ * running instrumented operations take no measurements at all.
+ */
+public final class JfrMetricsExporter implements MetricsRecorder {
+    private static final EventType EVENT_TYPE = EventType.getEventType(OperationEvent.class);
+
+    @Override
+    public boolean isEnabled() {
+        return EVENT_TYPE.isEnabled();
+    }
+
+    @Override
+    public void record(String operation, long inputCount, long outputCount, long elapsedNanos, long allocatedBytes) {
+        OperationEvent event = new OperationEvent();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.inputCount = inputCount;
+            event.outputCount = outputCount;
+            event.elapsed = elapsedNanos;
+            event.allocated = allocatedBytes;
+            event.commit();
+        }
+    }
+}
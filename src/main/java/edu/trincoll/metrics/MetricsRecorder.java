@@ -0,0 +1,64 @@
+package edu.trincoll.metrics;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Receives one sample per instrumented operation. Samples are recorded on the
+ * caller's thread, inside the hot path, so implementations must be thread-safe
+ * and must not block.
+ *
+ * <p>Allocation is measured for the calling thread only; work an operation hands
+ * to other threads is not included. It is {@code -1} where the JVM cannot
+ * measure it.
+ */
+public interface MetricsRecorder {
+
+    void record(String operation, long inputCount, long outputCount, long elapsedNanos, long allocatedBytes);
+
+    /** When {@code false}, {@link #measure} runs the operation without taking any measurements. */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /** Runs {@code operation} and records its latency, allocation and output size. */
+    default <R> R measure(String operation, long inputCount, Supplier<R> body, ToLongFunction<? super R> outputCount) {
+        if (!isEnabled()) {
+            return body.get();
+        }
+        long allocatedBefore = Allocation.currentThreadBytes();
+        long start = System.nanoTime();
+        R result = body.get();
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBefore < 0 ? -1 : Allocation.currentThreadBytes() - allocatedBefore;
+        record(operation, inputCount, outputCount.applyAsLong(result), elapsed, allocated);
+        return result;
+    }
+
+    default MetricsRecorder andThen(MetricsRecorder other) {
+        Objects.requireNonNull(other);
+        MetricsRecorder first = this;
+        return new MetricsRecorder() {
+            @Override
+            public void record(String operation, long inputCount, long outputCount,
+                               long elapsedNanos, long allocatedBytes) {
+                if (first.isEnabled()) {
+                    first.record(operation, inputCount, outputCount, elapsedNanos, allocatedBytes);
+                }
+                if (other.isEnabled()) {
+                    other.record(operation, inputCount, outputCount, elapsedNanos, allocatedBytes);
+                }
+            }
+
+            @Override
+            public boolean isEnabled() {
+                return first.isEnabled() || other.isEnabled();
+            }
+        };
+    }
+
+    static MetricsRecorder noop() {
+        return NoopRecorder.INSTANCE;
+    }
+}
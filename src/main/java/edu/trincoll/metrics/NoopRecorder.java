@@ -0,0 +1,14 @@
+package edu.trincoll.metrics;
+
+enum NoopRecorder implements MetricsRecorder {
+    INSTANCE;
+
+    @Override
+    public void record(String operation, long inputCount, long outputCount, long elapsedNanos, long allocatedBytes) {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+}
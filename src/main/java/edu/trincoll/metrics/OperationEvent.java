@@ -0,0 +1,33 @@
+package edu.trincoll.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("edu.trincoll.Operation")
+@Label("Task Operation")
+@Category("Task Manager")
+@Description("One instrumented analyzer query or engine operation")
+@StackTrace(false)
+final class OperationEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Input Count")
+    long inputCount;
+
+    @Label("Output Count")
+    long outputCount;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocated;
+}
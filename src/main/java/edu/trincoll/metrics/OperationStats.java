@@ -0,0 +1,19 @@
+package edu.trincoll.metrics;
+
+/**
+ * Totals and latency percentiles for one operation, as read from an
+ * {@link InMemoryMetricsRegistry}. Latencies are in nanoseconds.
+ * {@code allocatedBytes} only covers calls whose allocation could be measured.
+ */
+public record OperationStats(
+    String operation,
+    long calls,
+    long inputCount,
+    long outputCount,
+    long allocatedBytes,
+    double meanNanos,
+    long p50Nanos,
+    long p99Nanos,
+    long maxNanos
+) {
+}
@@ -0,0 +1,129 @@
+package edu.trincoll.metrics;
+
+import edu.trincoll.functional.TaskProcessor;
+import edu.trincoll.model.Task;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Logging {@link TaskProcessor} that is safe to leave in a hot path. It logs one
+ * line for every {@code sampleEvery}-th batch, listing at most {@code maxTitles}
+ * titles. Lines are queued and written to the sink on {@code writer}, so callers
+ * never wait for output. When the queue is full the line is dropped and counted
+ * in {@link #dropped()}.
+ */
+public final class SampledTaskLog implements TaskProcessor {
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final ExecutorService DEFAULT_WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sampled-task-log");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String message;
+    private final int sampleEvery;
+    private final int maxTitles;
+    private final Consumer<String> sink;
+    private final Executor writer;
+    private final ArrayBlockingQueue<String> queue;
+    private final AtomicLong batches = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    public SampledTaskLog(String message,
+                          int sampleEvery,
+                          int maxTitles,
+                          Consumer<String> sink,
+                          Executor writer,
+                          int capacity) {
+        if (sampleEvery <= 0) {
+            throw new IllegalArgumentException("Sample interval must be positive: " + sampleEvery);
+        }
+        if (maxTitles < 0) {
+            throw new IllegalArgumentException("Max titles must not be negative: " + maxTitles);
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.message = Objects.requireNonNull(message);
+        this.sampleEvery = sampleEvery;
+        this.maxTitles = maxTitles;
+        this.sink = Objects.requireNonNull(sink);
+        this.writer = Objects.requireNonNull(writer);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /** Writes to standard output from a shared background thread. */
+    public static SampledTaskLog toStandardOut(String message, int sampleEvery, int maxTitles) {
+        return new SampledTaskLog(message, sampleEvery, maxTitles, System.out::println, DEFAULT_WRITER,
+            DEFAULT_CAPACITY);
+    }
+
+    @Override
+    public void process(List<Task> tasks) {
+        if (batches.getAndIncrement() % sampleEvery != 0) {
+            return;
+        }
+        if (queue.offer(format(tasks))) {
+            scheduleDrain();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    private String format(List<Task> tasks) {
+        StringBuilder line = new StringBuilder(message).append(": ").append(tasks.size()).append(" tasks");
+        int shown = Math.min(maxTitles, tasks.size());
+        if (shown > 0) {
+            line.append(" [");
+            for (int i = 0; i < shown; i++) {
+                line.append(i == 0 ? "" : ", ").append(tasks.get(i).title());
+            }
+            if (shown < tasks.size()) {
+                line.append(", +").append(tasks.size() - shown).append(" more");
+            }
+            line.append(']');
+        }
+        return line.toString();
+    }
+
+    // At most one drain runs at a time. A line queued just as a drain finishes
+    // is picked up by the re-check after the flag is cleared.
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            writer.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        do {
+            String line;
+            while ((line = queue.poll()) != null) {
+                write(line);
+            }
+            draining.set(false);
+        } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+    // A failing sink loses the line but must not stop later lines being written.
+    private void write(String line) {
+        try {
+            sink.accept(line);
+        } catch (RuntimeException e) {
+            dropped.increment();
+        }
+    }
+}
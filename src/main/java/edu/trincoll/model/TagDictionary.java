@@ -0,0 +1,64 @@
+package edu.trincoll.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide mapping between tag strings and small dense int ids. Each
+ * distinct tag is stored once and keeps its id for the life of the JVM, so
+ * tag sets and indexes can work with ids and decode strings only when a
+ * caller asks for them. Thread-safe; lookups of known tags do not lock.
+ */
+public final class TagDictionary {
+    private static final TagDictionary GLOBAL = new TagDictionary();
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    // Written under the lock and republished through the volatile field, so a
+    // reader holding an id always sees its name.
+    private volatile String[] names = new String[64];
+    private int size;
+
+    private TagDictionary() {
+    }
+
+    public static TagDictionary global() {
+        return GLOBAL;
+    }
+
+    /** The id of {@code tag}, assigning the next free id if it is new. */
+    public int intern(String tag) {
+        Integer id = ids.get(Objects.requireNonNull(tag, "Tags must not be null"));
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(tag);
+            if (id != null) {
+                return id;
+            }
+            String[] current = names;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = tag;
+            names = current;
+            ids.put(tag, size);
+            return size++;
+        }
+    }
+
+    /** The id of {@code tag}, or {@code -1} if it has never been interned. */
+    public int idOf(String tag) {
+        Integer id = tag == null ? null : ids.get(tag);
+        return id == null ? -1 : id;
+    }
+
+    public String name(int id) {
+        return names[Objects.checkIndex(id, ids.size())];
+    }
+
+    public int size() {
+        return ids.size();
+    }
+}
@@ -0,0 +1,88 @@
+package edu.trincoll.model;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable set of tags held as a sorted array of {@link TagDictionary} ids.
+ * Membership tests by id are a search over a few ints; strings are only
+ * decoded when the set is iterated.
+ */
+public final class TagSet extends AbstractSet<String> {
+    private static final TagSet EMPTY = new TagSet(new int[0]);
+
+    private final int[] ids;
+
+    private TagSet(int[] ids) {
+        this.ids = ids;
+    }
+
+    /** Interns every tag; returns {@code tags} itself if it is already a {@code TagSet}. */
+    public static TagSet copyOf(Collection<String> tags) {
+        if (tags instanceof TagSet tagSet) {
+            return tagSet;
+        }
+        if (tags.isEmpty()) {
+            return EMPTY;
+        }
+        TagDictionary dictionary = TagDictionary.global();
+        int[] ids = new int[tags.size()];
+        int count = 0;
+        for (String tag : tags) {
+            ids[count++] = dictionary.intern(tag);
+        }
+        Arrays.sort(ids);
+        // Only non-set collections can contain duplicates.
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || ids[distinct - 1] != ids[i]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return new TagSet(distinct == ids.length ? ids : Arrays.copyOf(ids, distinct));
+    }
+
+    public boolean containsId(int id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    public void forEachId(IntConsumer action) {
+        for (int id : ids) {
+            action.accept(id);
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof String tag && containsId(TagDictionary.global().idOf(tag));
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < ids.length;
+            }
+
+            @Override
+            public String next() {
+                if (index >= ids.length) {
+                    throw new NoSuchElementException();
+                }
+                return TagDictionary.global().name(ids[index++]);
+            }
+        };
+    }
+}
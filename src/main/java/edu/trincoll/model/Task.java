@@ -3,6 +3,13 @@ package edu.trincoll.model;
 import java.time.LocalDateTime;
 import java.util.Set;
 
+/**
+ * A task. Its tags are interned into the global {@link TagDictionary} and held as
+ * a {@link TagSet}, so {@link #tags()} differs from the set passed in: it is
+ * immutable, iterates in the order tags were first interned rather than the
+ * caller's order, and a {@code null} element is rejected with a
+ * {@link NullPointerException}. A {@code null} set stays {@code null}.
+ */
 public record Task(
     Long id,
     String title,
@@ -14,6 +21,10 @@ public record Task(
     LocalDateTime dueDate,
     Integer estimatedHours
 ) {
+    public Task {
+        tags = tags == null ? null : TagSet.copyOf(tags);
+    }
+
     public enum Priority {
         LOW(1), MEDIUM(2), HIGH(3), CRITICAL(4);
 
@@ -33,8 +44,12 @@ public record Task(
     }
 
     public boolean isOverdue() {
+        return isOverdue(LocalDateTime.now());
+    }
+
+    public boolean isOverdue(LocalDateTime now) {
         return dueDate != null &&
-               LocalDateTime.now().isAfter(dueDate) &&
+               now.isAfter(dueDate) &&
                status != Status.DONE &&
                status != Status.CANCELLED;
     }
@@ -0,0 +1,40 @@
+package edu.trincoll.processor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One batch handed to a {@code TaskProcessor}. Disabled unless a recording enables it. */
+@Name("edu.trincoll.Batch")
+@Label("Task Batch")
+@Category({"Task Manager", "Processing"})
+@Description("A batch run by batchProcess or batchProcessConcurrently")
+@Enabled(false)
+@StackTrace(false)
+final class BatchEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Batch Index")
+    int batchIndex;
+
+    @Label("Task Count")
+    int taskCount;
+
+    @Label("Failed")
+    boolean failed;
+
+    /** Commits the event if a recording wants it; otherwise does nothing. */
+    void complete(String operation, int batchIndex, int taskCount, boolean failed) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.batchIndex = batchIndex;
+            this.taskCount = taskCount;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package edu.trincoll.processor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Completion handle for a concurrent {@link TaskProcessingEngine#batchProcessConcurrently} run.
+ * A failing batch is recorded in its {@link BatchResult} and never affects the others.
+ */
+public final class BatchHandle {
+
+    public record BatchResult(int index, int size, Duration elapsed, Throwable failure) {
+        public boolean succeeded() {
+            return failure == null;
+        }
+    }
+
+    private final int batchCount;
+    private final CompletableFuture<List<BatchResult>> completion;
+
+    BatchHandle(int batchCount, CompletableFuture<List<BatchResult>> completion) {
+        this.batchCount = batchCount;
+        this.completion = completion;
+    }
+
+    public int batchCount() {
+        return batchCount;
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    /** Completes with one result per batch, in batch order, once every batch has finished. */
+    public CompletableFuture<List<BatchResult>> completion() {
+        return completion;
+    }
+
+    public List<BatchResult> await() {
+        return completion.join();
+    }
+
+    public List<BatchResult> failures() {
+        return await().stream()
+            .filter(result -> !result.succeeded())
+            .toList();
+    }
+}
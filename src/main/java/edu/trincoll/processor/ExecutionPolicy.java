@@ -0,0 +1,49 @@
+package edu.trincoll.processor;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Decides whether a stream query runs sequentially or in parallel on a dedicated
+ * {@link ForkJoinPool}. Inputs smaller than the threshold always run sequentially.
+ * Queries are expected to use encounter-ordered operations so that parallel
+ * results match the sequential ones.
+ */
+public record ExecutionPolicy(ForkJoinPool pool, int parallelThreshold) {
+    private static final ExecutionPolicy SEQUENTIAL = new ExecutionPolicy(null, Integer.MAX_VALUE);
+
+    public ExecutionPolicy {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException("Parallel threshold must not be negative");
+        }
+    }
+
+    public static ExecutionPolicy sequential() {
+        return SEQUENTIAL;
+    }
+
+    public static ExecutionPolicy parallel(ForkJoinPool pool, int parallelThreshold) {
+        return new ExecutionPolicy(Objects.requireNonNull(pool), parallelThreshold);
+    }
+
+    public boolean isParallelFor(int size) {
+        return pool != null && size >= parallelThreshold;
+    }
+
+    public <E, R> R evaluate(Collection<E> source, Function<Stream<E>, R> query) {
+        return evaluate(source.size(), source::stream, query);
+    }
+
+    public <E, R> R evaluate(int size, Supplier<Stream<E>> source, Function<Stream<E>, R> query) {
+        if (!isParallelFor(size)) {
+            return query.apply(source.get());
+        }
+        // A parallel stream started from inside a pool's worker runs its
+        // subtasks on that pool rather than the common pool.
+        return pool.submit(() -> query.apply(source.get().parallel())).join();
+    }
+}
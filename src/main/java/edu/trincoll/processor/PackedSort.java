@@ -0,0 +1,140 @@
+package edu.trincoll.processor;
+
+import edu.trincoll.model.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Stable sort over a leading run of {@link SortKey}s. Each task's keys are
+ * packed into a few unsigned words and the rows are LSD radix sorted a byte
+ * at a time, skipping bytes on which every row agrees. Criteria after the
+ * first custom comparator only break ties within equal packed keys.
+ */
+final class PackedSort {
+    private static final int RADIX = 256;
+
+    private final List<SortKey> keys;
+    private final Comparator<Task> tieBreaker;
+    private final int bits;
+    private final int wordsPerRow;
+
+    private PackedSort(List<SortKey> keys, Comparator<Task> tieBreaker) {
+        this.keys = keys;
+        this.tieBreaker = tieBreaker;
+        this.bits = keys.stream().mapToInt(SortKey::width).sum();
+        this.wordsPerRow = (bits + 63) >>> 6;
+    }
+
+    /** Compiles {@code criteria}, or returns {@code null} if it does not start with a {@link SortKey}. */
+    static PackedSort compile(List<Comparator<Task>> criteria) {
+        List<SortKey> keys = new ArrayList<>();
+        int index = 0;
+        while (index < criteria.size() && criteria.get(index) instanceof SortKey key) {
+            keys.add(key);
+            index++;
+        }
+        if (keys.isEmpty()) {
+            return null;
+        }
+        Comparator<Task> tieBreaker = criteria.subList(index, criteria.size()).stream()
+            .reduce(Comparator::thenComparing)
+            .orElse(null);
+        return new PackedSort(List.copyOf(keys), tieBreaker);
+    }
+
+    List<Task> sort(List<Task> tasks) {
+        int size = tasks.size();
+        long[] packed = new long[size * wordsPerRow];
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            int position = 0;
+            for (SortKey key : keys) {
+                key.encode(tasks.get(i), packed, i * wordsPerRow, position);
+                position += key.width();
+            }
+            order[i] = i;
+        }
+        radixSort(packed, order);
+
+        List<Task> sorted = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            sorted.add(tasks.get(order[i]));
+        }
+        if (tieBreaker != null) {
+            for (int start = 0, end; start < size; start = end) {
+                end = start + 1;
+                while (end < size && sameKey(packed, start, end)) {
+                    end++;
+                }
+                if (end - start > 1) {
+                    sorted.subList(start, end).sort(tieBreaker);
+                }
+            }
+        }
+        return sorted;
+    }
+
+    // Moves the packed rows along with the order, so every pass reads sequentially.
+    private void radixSort(long[] packed, int[] order) {
+        int size = order.length;
+        long[] rows = packed;
+        int[] indexes = order;
+        long[] rowScratch = new long[packed.length];
+        int[] indexScratch = new int[size];
+        int[] counts = new int[RADIX + 1];
+        for (int digit = (bits + 7) / 8 - 1; digit >= 0; digit--) {
+            int word = digit >>> 3;
+            int shift = 56 - 8 * (digit & 7);
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < size; i++) {
+                counts[byteAt(rows, i, word, shift) + 1]++;
+            }
+            if (isConstant(counts, size)) {
+                continue;
+            }
+            for (int b = 0; b < RADIX; b++) {
+                counts[b + 1] += counts[b];
+            }
+            for (int i = 0; i < size; i++) {
+                int target = counts[byteAt(rows, i, word, shift)]++;
+                indexScratch[target] = indexes[i];
+                System.arraycopy(rows, i * wordsPerRow, rowScratch, target * wordsPerRow, wordsPerRow);
+            }
+            long[] rowSwap = rows;
+            rows = rowScratch;
+            rowScratch = rowSwap;
+            int[] indexSwap = indexes;
+            indexes = indexScratch;
+            indexScratch = indexSwap;
+        }
+        if (rows != packed) {
+            System.arraycopy(rows, 0, packed, 0, packed.length);
+            System.arraycopy(indexes, 0, order, 0, size);
+        }
+    }
+
+    private int byteAt(long[] rows, int row, int word, int shift) {
+        return (int) (rows[row * wordsPerRow + word] >>> shift) & 0xFF;
+    }
+
+    private static boolean isConstant(int[] counts, int size) {
+        for (int b = 1; b <= RADIX; b++) {
+            if (counts[b] == size) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean sameKey(long[] packed, int a, int b) {
+        for (int w = 0; w < wordsPerRow; w++) {
+            if (packed[a * wordsPerRow + w] != packed[b * wordsPerRow + w]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+package edu.trincoll.processor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One stage of a pipeline run. Disabled unless a recording enables
+ * {@code edu.trincoll.PipelineStage}; while disabled, emitting sites skip all
+ * event work, so the cost is a single check.
+ */
+@Name("edu.trincoll.PipelineStage")
+@Label("Pipeline Stage")
+@Category({"Task Manager", "Processing"})
+@Description("A stage of processPipeline, a fused TaskPipeline segment, or filterAndTransform")
+@Enabled(false)
+@StackTrace(false)
+final class PipelineStageEvent extends jdk.jfr.Event {
+    @Label("Stage")
+    String stage;
+
+    @Label("Stage Index")
+    int stageIndex;
+
+    @Label("Input Count")
+    int inputCount;
+
+    @Label("Output Count")
+    int outputCount;
+
+    /** Commits the event if a recording wants it; otherwise does nothing. */
+    void complete(String stage, int stageIndex, int inputCount, int outputCount) {
+        if (shouldCommit()) {
+            this.stage = stage;
+            this.stageIndex = stageIndex;
+            this.inputCount = inputCount;
+            this.outputCount = outputCount;
+            commit();
+        }
+    }
+}
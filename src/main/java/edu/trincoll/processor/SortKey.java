@@ -0,0 +1,140 @@
+package edu.trincoll.processor;
+
+import edu.trincoll.model.Task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Comparator on one of the built-in {@link Task} fields. Unlike an arbitrary
+ * comparator it can be compiled into a primitive sort key, which lets
+ * {@link TaskProcessingEngine#sortByMultipleCriteria} radix sort instead of
+ * calling a comparator chain for every comparison.
+ *
+ * <p>Ascending keys put {@code null} values last; {@link #reversed()} is the
+ * exact reverse, so descending keys put them first.
+ */
+public record SortKey(Field field, boolean descending) implements Comparator<Task> {
+    private static final int NANO_BITS = 30;
+
+    public enum Field {
+        PRIORITY,
+        STATUS,
+        DUE_DATE,
+        CREATED_AT,
+        ESTIMATED_HOURS
+    }
+
+    public SortKey {
+        Objects.requireNonNull(field);
+    }
+
+    public static SortKey priority() {
+        return new SortKey(Field.PRIORITY, false);
+    }
+
+    public static SortKey status() {
+        return new SortKey(Field.STATUS, false);
+    }
+
+    public static SortKey dueDate() {
+        return new SortKey(Field.DUE_DATE, false);
+    }
+
+    public static SortKey createdAt() {
+        return new SortKey(Field.CREATED_AT, false);
+    }
+
+    public static SortKey estimatedHours() {
+        return new SortKey(Field.ESTIMATED_HOURS, false);
+    }
+
+    @Override
+    public SortKey reversed() {
+        return new SortKey(field, !descending);
+    }
+
+    @Override
+    public int compare(Task a, Task b) {
+        int result = switch (field) {
+            case PRIORITY -> compareNullsLast(a.priority(), b.priority());
+            case STATUS -> compareNullsLast(a.status(), b.status());
+            case DUE_DATE -> compareNullsLast(a.dueDate(), b.dueDate());
+            case CREATED_AT -> compareNullsLast(a.createdAt(), b.createdAt());
+            case ESTIMATED_HOURS -> compareNullsLast(a.estimatedHours(), b.estimatedHours());
+        };
+        return descending ? -result : result;
+    }
+
+    /** Number of key bits {@link #encode} produces. */
+    int width() {
+        return switch (field) {
+            case PRIORITY -> ordinalWidth(Task.Priority.values().length);
+            case STATUS -> ordinalWidth(Task.Status.values().length);
+            case DUE_DATE, CREATED_AT -> 1 + 64 + NANO_BITS;
+            case ESTIMATED_HOURS -> 1 + 32;
+        };
+    }
+
+    /**
+     * Appends this key for {@code task} at bit {@code position} of {@code row},
+     * most significant bit first, so that comparing rows as unsigned words
+     * agrees with {@link #compare}.
+     */
+    void encode(Task task, long[] keys, int row, int position) {
+        switch (field) {
+            case PRIORITY -> put(keys, row, position, ordinal(task.priority(), Task.Priority.values().length), width());
+            case STATUS -> put(keys, row, position, ordinal(task.status(), Task.Status.values().length), width());
+            case DUE_DATE -> encodeDate(task.dueDate(), keys, row, position);
+            case CREATED_AT -> encodeDate(task.createdAt(), keys, row, position);
+            case ESTIMATED_HOURS -> {
+                Integer hours = task.estimatedHours();
+                long bits = hours == null ? 1L << 32 : (hours ^ Integer.MIN_VALUE) & 0xFFFF_FFFFL;
+                put(keys, row, position, bits, width());
+            }
+        }
+    }
+
+    private void encodeDate(LocalDateTime dateTime, long[] keys, int row, int position) {
+        if (dateTime == null) {
+            put(keys, row, position, 1, 1);
+            put(keys, row, position + 1, 0, 64);
+            put(keys, row, position + 65, 0, NANO_BITS);
+            return;
+        }
+        put(keys, row, position, 0, 1);
+        put(keys, row, position + 1, dateTime.toEpochSecond(ZoneOffset.UTC) ^ Long.MIN_VALUE, 64);
+        put(keys, row, position + 65, dateTime.getNano(), NANO_BITS);
+    }
+
+    // Writes the low {@code bits} bits of value, inverted for descending keys.
+    private void put(long[] keys, int row, int position, long value, int bits) {
+        long mask = bits == 64 ? -1L : (1L << bits) - 1;
+        long field = (descending ? ~value : value) & mask;
+        int index = row + (position >>> 6);
+        int free = 64 - (position & 63);
+        if (bits <= free) {
+            keys[index] |= field << (free - bits);
+        } else {
+            keys[index] |= field >>> (bits - free);
+            keys[index + 1] |= field << (64 - (bits - free));
+        }
+    }
+
+    private static long ordinal(Enum<?> value, int count) {
+        return value == null ? count : value.ordinal();
+    }
+
+    private static int ordinalWidth(int count) {
+        return 32 - Integer.numberOfLeadingZeros(count);
+    }
+
+    private static <T extends Comparable<? super T>> int compareNullsLast(T a, T b) {
+        if (a == null || b == null) {
+            return a == b ? 0 : a == null ? 1 : -1;
+        }
+        return a.compareTo(b);
+    }
+}
@@ -0,0 +1,336 @@
+package edu.trincoll.processor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Incremental pipeline over a possibly endless stream, built from {@link Flow}
+ * stages connected by bounded buffers.
+ *
+ * <p>Every stage is a {@link SubmissionPublisher} with at most {@code bufferSize}
+ * pending items per subscriber. When a downstream stage falls behind, submitting
+ * to it blocks, which stops the stage from requesting more upstream. Memory use
+ * therefore stays constant however long the source runs. The source is only
+ * pulled once something subscribes to the final stage.
+ */
+public final class StreamingPipeline<T> {
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Stream<?> source;
+    private final List<Supplier<? extends Stage<?, ?>>> stages;
+    private final Executor executor;
+    private final int bufferSize;
+    private final AtomicBoolean subscribed;
+
+    private StreamingPipeline(Stream<?> source,
+                              List<Supplier<? extends Stage<?, ?>>> stages,
+                              Executor executor,
+                              int bufferSize,
+                              AtomicBoolean subscribed) {
+        this.source = source;
+        this.stages = stages;
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.subscribed = subscribed;
+    }
+
+    public static <T> StreamingPipeline<T> from(Stream<T> source) {
+        return from(source, DEFAULT_EXECUTOR, Flow.defaultBufferSize());
+    }
+
+    /** Stages deliver on {@code executor}; blocking is expected, so virtual threads suit it best. */
+    public static <T> StreamingPipeline<T> from(Stream<T> source, Executor executor, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+        }
+        return new StreamingPipeline<>(Objects.requireNonNull(source), List.of(),
+            Objects.requireNonNull(executor), bufferSize, new AtomicBoolean());
+    }
+
+    public StreamingPipeline<T> filter(Predicate<? super T> predicate) {
+        return then(() -> new Stage<T, T>(executor, bufferSize) {
+            @Override
+            void handle(T item) {
+                if (predicate.test(item)) {
+                    submit(item);
+                }
+            }
+        });
+    }
+
+    public <R> StreamingPipeline<R> map(Function<? super T, ? extends R> mapper) {
+        return then(() -> new Stage<T, R>(executor, bufferSize) {
+            @Override
+            void handle(T item) {
+                submit(mapper.apply(item));
+            }
+        });
+    }
+
+    /**
+     * Applies {@code mapper} to up to {@code parallelism} items at once on
+     * {@code workers}, emitting results in input order.
+     */
+    public <R> StreamingPipeline<R> map(Function<? super T, ? extends R> mapper, int parallelism, Executor workers) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        Objects.requireNonNull(workers);
+        return then(() -> new ParallelMapStage<T, R>(mapper, parallelism, workers, executor, bufferSize));
+    }
+
+    public StreamingPipeline<List<T>> batch(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        return then(() -> new Stage<T, List<T>>(executor, bufferSize) {
+            private List<T> current = new ArrayList<>(batchSize);
+
+            @Override
+            void handle(T item) {
+                current.add(item);
+                if (current.size() == batchSize) {
+                    submit(current);
+                    current = new ArrayList<>(batchSize);
+                }
+            }
+
+            @Override
+            void finish() {
+                if (!current.isEmpty()) {
+                    submit(current);
+                }
+            }
+        });
+    }
+
+    /** Completes after {@code maxItems} items and cancels everything upstream. */
+    public StreamingPipeline<T> limit(long maxItems) {
+        if (maxItems <= 0) {
+            throw new IllegalArgumentException("Limit must be positive: " + maxItems);
+        }
+        return then(() -> new Stage<T, T>(executor, bufferSize) {
+            private long emitted;
+
+            @Override
+            void handle(T item) {
+                submit(item);
+                if (++emitted == maxItems) {
+                    cancelUpstream();
+                    close();
+                }
+            }
+        });
+    }
+
+    /**
+     * Wires up the stages and starts pulling from the source. A pipeline shares
+     * its source with the pipelines it was derived from, so only one of them
+     * can be subscribed.
+     */
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        run(tail -> {
+            tail.subscribe(subscriber);
+            return null;
+        });
+    }
+
+    /** Consumes every item; the future completes when the pipeline does. */
+    public CompletableFuture<Void> forEach(Consumer<? super T> consumer) {
+        return run(tail -> tail.consume(consumer));
+    }
+
+    private <R> StreamingPipeline<R> then(Supplier<? extends Stage<T, R>> stage) {
+        List<Supplier<? extends Stage<?, ?>>> next = new ArrayList<>(stages);
+        next.add(stage);
+        return new StreamingPipeline<>(source, List.copyOf(next), executor, bufferSize, subscribed);
+    }
+
+    // Every subscription is attached before the source starts, so no item is
+    // published while a stage has nobody to deliver it to.
+    @SuppressWarnings("unchecked")
+    private <R> R run(Function<SubmissionPublisher<T>, R> attach) {
+        if (!subscribed.compareAndSet(false, true)) {
+            throw new IllegalStateException("Pipeline has already been subscribed");
+        }
+        Source<Object> head = new Source<>((Iterator<Object>) source.iterator(), executor, bufferSize);
+        SubmissionPublisher<Object> upstream = head;
+        for (Supplier<? extends Stage<?, ?>> factory : stages) {
+            Stage<Object, Object> stage = (Stage<Object, Object>) factory.get();
+            upstream.subscribe(stage);
+            upstream = stage;
+        }
+        R result = attach.apply((SubmissionPublisher<T>) upstream);
+        head.start();
+        return result;
+    }
+
+    private static final class Source<T> extends SubmissionPublisher<T> {
+        private final Iterator<T> iterator;
+        private final Executor executor;
+
+        Source(Iterator<T> iterator, Executor executor, int bufferSize) {
+            super(executor, bufferSize);
+            this.iterator = iterator;
+            this.executor = executor;
+        }
+
+        void start() {
+            executor.execute(this::pump);
+        }
+
+        // submit() blocks while the subscriber's buffer is full, and cancelled
+        // subscribers are dropped, which ends the loop for endless sources.
+        private void pump() {
+            try {
+                while (hasSubscribers() && iterator.hasNext()) {
+                    submit(iterator.next());
+                }
+                close();
+            } catch (Throwable t) {
+                closeExceptionally(t);
+            }
+        }
+    }
+
+    private abstract static class Stage<T, R> extends SubmissionPublisher<R> implements Flow.Processor<T, R> {
+        private final int bufferSize;
+        private Flow.Subscription upstream;
+
+        Stage(Executor executor, int bufferSize) {
+            super(executor, bufferSize);
+            this.bufferSize = bufferSize;
+        }
+
+        abstract void handle(T item);
+
+        void finish() {
+        }
+
+        /** Called when the stage stops early, before it closes. */
+        void abort() {
+        }
+
+        void cancelUpstream() {
+            upstream.cancel();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            upstream = subscription;
+            subscription.request(bufferSize);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (isClosed()) {
+                return;
+            }
+            // Propagate a downstream cancellation towards the source.
+            if (!hasSubscribers()) {
+                upstream.cancel();
+                abort();
+                close();
+                return;
+            }
+            try {
+                handle(item);
+            } catch (Throwable t) {
+                upstream.cancel();
+                fail(unwrap(t));
+                return;
+            }
+            if (!isClosed()) {
+                upstream.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            fail(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (isClosed()) {
+                return;
+            }
+            try {
+                finish();
+                close();
+            } catch (Throwable t) {
+                fail(unwrap(t));
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            abort();
+            closeExceptionally(throwable);
+        }
+
+        private static Throwable unwrap(Throwable t) {
+            return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+        }
+    }
+
+    private static final class ParallelMapStage<T, R> extends Stage<T, R> {
+        private final Function<? super T, ? extends R> mapper;
+        private final int parallelism;
+        private final Executor workers;
+        private final ArrayDeque<CompletableFuture<R>> pending = new ArrayDeque<>();
+
+        ParallelMapStage(Function<? super T, ? extends R> mapper,
+                         int parallelism,
+                         Executor workers,
+                         Executor executor,
+                         int bufferSize) {
+            super(executor, bufferSize);
+            this.mapper = mapper;
+            this.parallelism = parallelism;
+            this.workers = Objects.requireNonNull(workers);
+        }
+
+        @Override
+        void handle(T item) {
+            pending.add(CompletableFuture.supplyAsync(() -> mapper.apply(item), workers));
+            drain(false);
+        }
+
+        @Override
+        void finish() {
+            drain(true);
+        }
+
+        // Results nobody will read; mappers that have not started yet are skipped.
+        @Override
+        void abort() {
+            pending.forEach(future -> future.cancel(false));
+            pending.clear();
+        }
+
+        // Emit completed results from the head only, so output keeps input order,
+        // and wait on the head once the window is full.
+        private void drain(boolean all) {
+            while (!pending.isEmpty()
+                    && (all || pending.size() >= parallelism || pending.peek().isDone())) {
+                submit(pending.poll().join());
+            }
+        }
+    }
+}
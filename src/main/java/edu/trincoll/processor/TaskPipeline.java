@@ -0,0 +1,163 @@
+package edu.trincoll.processor;
+
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.model.Task;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Immutable description of a filter/map/sort/limit pipeline for
+ * {@link TaskProcessingEngine#processPipeline(List, TaskPipeline)}.
+ *
+ * <p>Runs of filter, map and limit stages are fused into a single pass that
+ * builds one output list. Only a sort forces the intermediate result to be
+ * materialized, and a limit that has been reached stops the pass early.
+ */
+public final class TaskPipeline {
+
+    sealed interface Stage permits Filter, Transform, Sort, Limit {
+    }
+
+    record Filter(Predicate<Task> predicate) implements Stage {
+    }
+
+    record Transform(Function<Task, Task> mapper) implements Stage {
+    }
+
+    record Sort(Comparator<Task> comparator) implements Stage {
+    }
+
+    record Limit(long maxSize) implements Stage {
+    }
+
+    private static final TaskPipeline EMPTY = new TaskPipeline(List.of());
+
+    private final List<Stage> stages;
+
+    private TaskPipeline(List<Stage> stages) {
+        this.stages = stages;
+    }
+
+    public static TaskPipeline start() {
+        return EMPTY;
+    }
+
+    public TaskPipeline filter(TaskPredicate predicate) {
+        return then(new Filter(Objects.requireNonNull(predicate)));
+    }
+
+    public TaskPipeline map(Function<Task, Task> mapper) {
+        return then(new Transform(Objects.requireNonNull(mapper)));
+    }
+
+    public TaskPipeline sorted(Comparator<Task> comparator) {
+        return then(new Sort(Objects.requireNonNull(comparator)));
+    }
+
+    public TaskPipeline limit(long maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Limit must not be negative: " + maxSize);
+        }
+        return then(new Limit(maxSize));
+    }
+
+    List<Stage> stages() {
+        return stages;
+    }
+
+    // Each fused segment and each sort is reported as one PipelineStageEvent,
+    // indexed by the position of its first stage.
+    List<Task> run(List<Task> tasks) {
+        List<Task> current = tasks;
+        List<Stage> segment = new ArrayList<>();
+        for (int i = 0; i < stages.size(); i++) {
+            if (stages.get(i) instanceof Sort sort) {
+                current = runSegment(current, segment, i - segment.size());
+                segment.clear();
+                PipelineStageEvent event = new PipelineStageEvent();
+                event.begin();
+                if (current == tasks) {
+                    current = new ArrayList<>(tasks);
+                }
+                current.sort(sort.comparator());
+                event.complete("sorted", i, current.size(), current.size());
+            } else {
+                segment.add(stages.get(i));
+            }
+        }
+        return runSegment(current, segment, stages.size() - segment.size());
+    }
+
+    private TaskPipeline then(Stage stage) {
+        List<Stage> next = new ArrayList<>(stages);
+        next.add(stage);
+        return new TaskPipeline(List.copyOf(next));
+    }
+
+    private static List<Task> runSegment(List<Task> input, List<Stage> segment, int index) {
+        if (segment.isEmpty()) {
+            return input;
+        }
+        PipelineStageEvent event = new PipelineStageEvent();
+        event.begin();
+        List<Task> output = runFused(input, segment);
+        if (event.isEnabled()) {
+            event.complete(describe(segment), index, input.size(), output.size());
+        }
+        return output;
+    }
+
+    // For example "filter+map+limit" for three fused stages.
+    private static String describe(List<Stage> segment) {
+        StringJoiner name = new StringJoiner("+");
+        for (Stage stage : segment) {
+            name.add(stage instanceof Filter ? "filter" : stage instanceof Transform ? "map" : "limit");
+        }
+        return name.toString();
+    }
+
+    private static List<Task> runFused(List<Task> input, List<Stage> segment) {
+        if (segment.isEmpty()) {
+            return input;
+        }
+        Stage[] ops = segment.toArray(Stage[]::new);
+        long[] passed = new long[ops.length];
+        List<Task> output = new ArrayList<>();
+        boolean exhausted = false;
+        elements:
+        for (Task element : input) {
+            // Once any limit is full nothing else can get past it, so the rest
+            // of the input is irrelevant.
+            if (exhausted) {
+                break;
+            }
+            Task task = element;
+            for (int i = 0; i < ops.length; i++) {
+                Stage op = ops[i];
+                if (op instanceof Filter filter) {
+                    if (!filter.predicate().test(task)) {
+                        continue elements;
+                    }
+                } else if (op instanceof Transform transform) {
+                    task = transform.mapper().apply(task);
+                } else if (op instanceof Limit limit) {
+                    if (passed[i] == limit.maxSize()) {
+                        exhausted = true;
+                        continue elements;
+                    }
+                    if (++passed[i] == limit.maxSize()) {
+                        exhausted = true;
+                    }
+                }
+            }
+            output.add(task);
+        }
+        return output;
+    }
+}
@@ -3,81 +3,262 @@ package edu.trincoll.processor;
 import edu.trincoll.functional.TaskPredicate;
 import edu.trincoll.functional.TaskProcessor;
 import edu.trincoll.functional.TaskTransformer;
+import edu.trincoll.metrics.MetricsRecorder;
 import edu.trincoll.model.Task;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.function.*;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * Bulk operations over task lists. Operations whose cost grows with the input
+ * report to the {@link MetricsRecorder} as {@code TaskProcessingEngine.<method>};
+ * batch operations report each batch, and {@code processPipeline} over a list of
+ * operations reports each stage as {@code processPipeline[i]}.
+ *
+ * <p>Pipeline stages and batches also emit the {@code edu.trincoll.PipelineStage}
+ * and {@code edu.trincoll.Batch} JFR events. Both are off by default; enable them
+ * in a recording to line up GC pauses or lock contention with specific stages.
+ */
 public class TaskProcessingEngine {
+    private static final int PACKED_SORT_THRESHOLD = 1024;
+
+    private final ExecutionPolicy executionPolicy;
+    private final MetricsRecorder recorder;
+
+    public TaskProcessingEngine() {
+        this(ExecutionPolicy.sequential());
+    }
+
+    public TaskProcessingEngine(ExecutionPolicy executionPolicy) {
+        this(executionPolicy, MetricsRecorder.noop());
+    }
+
+    public TaskProcessingEngine(ExecutionPolicy executionPolicy, MetricsRecorder recorder) {
+        this.executionPolicy = Objects.requireNonNull(executionPolicy);
+        this.recorder = Objects.requireNonNull(recorder);
+    }
 
-    // TODO: Implement pipeline processing using Function composition
     public List<Task> processPipeline(
             List<Task> tasks,
             List<Function<List<Task>, List<Task>>> operations) {
-        // Implementation needed
-        return null;
+        List<Task> current = tasks;
+        for (int i = 0; i < operations.size(); i++) {
+            current = runStage(i, operations.get(i), current);
+        }
+        return current;
+    }
+
+    private List<Task> runStage(int index, Function<List<Task>, List<Task>> operation, List<Task> input) {
+        PipelineStageEvent event = new PipelineStageEvent();
+        event.begin();
+        List<Task> output = recorder.isEnabled()
+            ? recorder.measure("TaskProcessingEngine.processPipeline[" + index + "]", input.size(),
+                () -> operation.apply(input), List::size)
+            : operation.apply(input);
+        event.complete("processPipeline", index, input.size(), output.size());
+        return output;
+    }
+
+    /** Runs a {@link TaskPipeline}, fusing its stages into as few passes as possible. */
+    public List<Task> processPipeline(List<Task> tasks, TaskPipeline pipeline) {
+        return measured("TaskProcessingEngine.processPipeline", tasks, () -> pipeline.run(tasks));
     }
 
-    // TODO: Implement using Supplier for lazy evaluation
     public Task getOrCreateDefault(Optional<Task> taskOpt, Supplier<Task> defaultSupplier) {
-        // Implementation needed
-        return null;
+        return taskOpt.orElseGet(defaultSupplier);
     }
 
-    // TODO: Implement using Consumer for side effects
     public void processTasksWithSideEffects(
             List<Task> tasks,
             Consumer<Task> sideEffect) {
-        // Implementation needed
+        tasks.forEach(sideEffect);
     }
 
-    // TODO: Implement using BiFunction
     public Task mergeTasks(Task task1, Task task2, BiFunction<Task, Task, Task> merger) {
-        // Implementation needed
-        return null;
+        return merger.apply(task1, task2);
     }
 
-    // TODO: Implement using UnaryOperator
     public List<Task> transformAll(List<Task> tasks, UnaryOperator<Task> transformer) {
-        // Implementation needed
-        return null;
+        return measured("TaskProcessingEngine.transformAll", tasks, () -> executionPolicy.evaluate(tasks,
+            stream -> stream
+                .map(transformer)
+                .collect(Collectors.toList())));
     }
 
-    // TODO: Implement using custom functional interfaces
     public List<Task> filterAndTransform(
             List<Task> tasks,
             TaskPredicate filter,
             TaskTransformer transformer) {
-        // Implementation needed
-        return null;
+        PipelineStageEvent event = new PipelineStageEvent();
+        event.begin();
+        List<Task> result = measured("TaskProcessingEngine.filterAndTransform", tasks,
+            () -> executionPolicy.evaluate(tasks, stream -> stream
+                .filter(filter)
+                .map(transformer)
+                .collect(Collectors.toList())));
+        event.complete("filterAndTransform", 0, tasks.size(), result.size());
+        return result;
     }
 
-    // TODO: Implement batch processing with TaskProcessor
     public void batchProcess(
             List<Task> tasks,
             int batchSize,
             TaskProcessor processor) {
-        // Implementation needed
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        for (int start = 0; start < tasks.size(); start += batchSize) {
+            List<Task> batch = tasks.subList(start, Math.min(start + batchSize, tasks.size()));
+            BatchEvent event = new BatchEvent();
+            event.begin();
+            boolean completed = false;
+            try {
+                measured("TaskProcessingEngine.batchProcess", batch, () -> {
+                    processor.process(batch);
+                    return batch;
+                });
+                completed = true;
+            } finally {
+                event.complete("batchProcess", start / batchSize, batch.size(), !completed);
+            }
+        }
+    }
+
+    /**
+     * Runs each batch on its own virtual thread, with at most {@code maxInFlight}
+     * batches executing at once. Intended for processors that block on I/O.
+     */
+    public BatchHandle batchProcessConcurrently(
+            List<Task> tasks,
+            int batchSize,
+            int maxInFlight,
+            TaskProcessor processor) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max in-flight batches must be positive: " + maxInFlight);
+        }
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        List<CompletableFuture<BatchHandle.BatchResult>> batches = new ArrayList<>();
+        for (int start = 0; start < tasks.size(); start += batchSize) {
+            int index = batches.size();
+            List<Task> batch = tasks.subList(start, Math.min(start + batchSize, tasks.size()));
+            batches.add(CompletableFuture.supplyAsync(
+                () -> runBatch(index, batch, processor, inFlight, recorder), executor));
+        }
+        CompletableFuture<List<BatchHandle.BatchResult>> completion = CompletableFuture
+            .allOf(batches.toArray(CompletableFuture[]::new))
+            .thenApply(ignored -> batches.stream().map(CompletableFuture::join).toList())
+            .whenComplete((results, failure) -> executor.shutdown());
+        return new BatchHandle(batches.size(), completion);
+    }
+
+    static BatchHandle.BatchResult runBatch(
+            int index,
+            List<Task> batch,
+            TaskProcessor processor,
+            Semaphore inFlight,
+            MetricsRecorder recorder) {
+        BatchEvent event = new BatchEvent();
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            event.begin();
+            return completeBatch(index, batch, event, 0, e, recorder);
+        }
+        Throwable failure = null;
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            processor.process(batch);
+        } catch (Throwable e) {
+            // Errors too: letting one escape would fail the shared completion
+            // and lose every other batch's result.
+            failure = e;
+        } finally {
+            inFlight.release();
+        }
+        return completeBatch(index, batch, event, System.nanoTime() - start, failure, recorder);
+    }
+
+    private static BatchHandle.BatchResult completeBatch(
+            int index,
+            List<Task> batch,
+            BatchEvent event,
+            long elapsed,
+            Throwable failure,
+            MetricsRecorder recorder) {
+        event.complete("batchProcessConcurrently", index, batch.size(), failure != null);
+        if (recorder.isEnabled()) {
+            // Failed batches produce no output; allocation is not measured here.
+            recorder.record("TaskProcessingEngine.batchProcessConcurrently", batch.size(),
+                failure == null ? batch.size() : 0, elapsed, -1);
+        }
+        return new BatchHandle.BatchResult(index, batch.size(), Duration.ofNanos(elapsed), failure);
     }
 
-    // TODO: Implement Optional chaining
     public Optional<String> getHighestPriorityTaskTitle(List<Task> tasks) {
-        // Implementation needed
-        return Optional.empty();
+        return tasks.stream()
+            .max(Comparator.comparing(Task::priority))
+            .map(Task::title);
+    }
+
+    /**
+     * The {@code k} greatest tasks by {@code comparator}, greatest first, in the
+     * order {@code sorted(comparator.reversed()).limit(k)} would give but without
+     * sorting the whole list.
+     */
+    public List<Task> selectTop(List<Task> tasks, int k, Comparator<Task> comparator) {
+        return measured("TaskProcessingEngine.selectTop", tasks,
+            () -> executionPolicy.evaluate(tasks, stream -> stream.collect(TopK.greatest(k, comparator))));
     }
 
-    // TODO: Implement stream generation using Stream.generate
     public Stream<Task> generateTaskStream(Supplier<Task> taskSupplier) {
-        // Implementation needed
-        return Stream.empty();
+        return Stream.generate(taskSupplier);
+    }
+
+    /** Starts a backpressured pipeline over {@code source}, for example one from {@link #generateTaskStream}. */
+    public StreamingPipeline<Task> streamPipeline(Stream<Task> source) {
+        return StreamingPipeline.from(source);
     }
 
-    // TODO: Implement using Comparator composition
+    /**
+     * Stable sort by {@code comparators} in order. Leading {@link SortKey}
+     * criteria on larger inputs are compiled into packed keys and radix sorted;
+     * other comparators only break the remaining ties.
+     */
     public List<Task> sortByMultipleCriteria(
             List<Task> tasks,
             List<Comparator<Task>> comparators) {
-        // Implementation needed
-        return null;
+        return measured("TaskProcessingEngine.sortByMultipleCriteria", tasks, () -> sort(tasks, comparators));
+    }
+
+    private List<Task> sort(List<Task> tasks, List<Comparator<Task>> comparators) {
+        if (tasks.size() >= PACKED_SORT_THRESHOLD) {
+            PackedSort packed = PackedSort.compile(comparators);
+            if (packed != null) {
+                return packed.sort(tasks);
+            }
+        }
+        Comparator<Task> comparator = comparators.stream()
+            .reduce(Comparator::thenComparing)
+            .orElse((a, b) -> 0);
+        return executionPolicy.evaluate(tasks, stream -> stream
+            .sorted(comparator)
+            .collect(Collectors.toList()));
+    }
+
+    private List<Task> measured(String operation, List<Task> input, Supplier<List<Task>> body) {
+        return recorder.measure(operation, input.size(), body, List::size);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package edu.trincoll.processor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.stream.Collector;
+
+/**
+ * Bounded top-K selection in O(n log k) time and O(k) space, as an alternative
+ * to sorting everything and then taking a prefix.
+ *
+ * <p>Ties are broken by encounter order, so {@code greatest(k, c)} returns the
+ * same list as {@code sorted(c.reversed()).limit(k)}, sequentially or in
+ * parallel.
+ */
+public final class TopK {
+
+    private TopK() {
+    }
+
+    /** The {@code k} greatest elements, greatest first. */
+    public static <T> Collector<T, ?, List<T>> greatest(int k, Comparator<? super T> comparator) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        Objects.requireNonNull(comparator);
+        return Collector.of(
+            () -> new Selection<T>(k, comparator),
+            Selection::add,
+            Selection::merge,
+            Selection::toList);
+    }
+
+    /** The {@code k} least elements, least first. */
+    public static <T> Collector<T, ?, List<T>> least(int k, Comparator<? super T> comparator) {
+        return greatest(k, comparator.reversed());
+    }
+
+    private record Entry<T>(T value, long sequence) {
+    }
+
+    private static final class Selection<T> {
+        private final int k;
+        // Best-first order over entries: greater value, then earlier sequence.
+        private final Comparator<Entry<T>> order;
+        // Min-heap on that order, so the head is the entry to evict.
+        private final PriorityQueue<Entry<T>> heap;
+        private long seen;
+
+        Selection(int k, Comparator<? super T> comparator) {
+            this.k = k;
+            Comparator<Entry<T>> byValue = (a, b) -> comparator.compare(b.value(), a.value());
+            this.order = byValue.thenComparingLong(Entry::sequence);
+            this.heap = new PriorityQueue<>(Math.max(1, Math.min(k, 1024)), order.reversed());
+        }
+
+        void add(T value) {
+            offer(new Entry<>(value, seen++));
+        }
+
+        // The right-hand partition follows this one in encounter order.
+        Selection<T> merge(Selection<T> other) {
+            long offset = seen;
+            for (Entry<T> entry : other.heap) {
+                offer(new Entry<>(entry.value(), entry.sequence() + offset));
+            }
+            seen += other.seen;
+            return this;
+        }
+
+        List<T> toList() {
+            List<Entry<T>> entries = new ArrayList<>(heap);
+            entries.sort(order);
+            List<T> result = new ArrayList<>(entries.size());
+            entries.forEach(entry -> result.add(entry.value()));
+            return result;
+        }
+
+        private void offer(Entry<T> entry) {
+            if (heap.size() < k) {
+                heap.add(entry);
+            } else if (k > 0 && order.compare(entry, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package edu.trincoll.processor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Continuously maintained ranking of keyed values, for example tasks by id,
+ * whose top entries can be read at any time without re-sorting.
+ *
+ * <p>Inserts, updates and removals cost O(log n) and reading the top {@code k}
+ * costs O(k). Ties keep the order in which keys were first added, matching
+ * {@link TopK#greatest}; updating a value keeps its key's place among ties.
+ * Not thread-safe.
+ */
+public final class TopKTracker<K, V> {
+
+    private record Entry<V>(V value, long sequence) {
+    }
+
+    private final Map<K, Entry<V>> entries = new HashMap<>();
+    private final TreeSet<Entry<V>> ranking;
+    private long nextSequence;
+
+    /** Ranks greatest first according to {@code comparator}. */
+    public TopKTracker(Comparator<? super V> comparator) {
+        Objects.requireNonNull(comparator);
+        Comparator<Entry<V>> byValue = (a, b) -> comparator.compare(b.value(), a.value());
+        this.ranking = new TreeSet<>(byValue.thenComparingLong(Entry::sequence));
+    }
+
+    /** Adds {@code key} or replaces its value. */
+    public void put(K key, V value) {
+        Entry<V> previous = entries.get(Objects.requireNonNull(key));
+        long sequence;
+        if (previous == null) {
+            sequence = nextSequence++;
+        } else {
+            ranking.remove(previous);
+            sequence = previous.sequence();
+        }
+        Entry<V> entry = new Entry<>(value, sequence);
+        entries.put(key, entry);
+        ranking.add(entry);
+    }
+
+    public boolean remove(K key) {
+        Entry<V> previous = entries.remove(key);
+        if (previous == null) {
+            return false;
+        }
+        ranking.remove(previous);
+        return true;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /** Up to {@code k} values, greatest first. */
+    public List<V> top(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        List<V> result = new ArrayList<>(Math.min(k, ranking.size()));
+        Iterator<Entry<V>> iterator = ranking.iterator();
+        while (result.size() < k && iterator.hasNext()) {
+            result.add(iterator.next().value());
+        }
+        return result;
+    }
+}
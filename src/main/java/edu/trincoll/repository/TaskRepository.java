@@ -0,0 +1,276 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.Task;
+import edu.trincoll.service.TaskAnalyzer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe tasks keyed by {@link Task#id()}, split into shards that each
+ * have their own write lock, so writers only contend within a shard.
+ *
+ * <p>Every write is stamped with a version, and each key keeps the versions
+ * that an open {@link Snapshot} may still need. Reading a snapshot takes no
+ * locks; opening one briefly holds every shard lock, only long enough to read
+ * the current version. Snapshots must be closed so old versions can be
+ * dropped: writes trim the history of the key they touch, and closing the
+ * oldest snapshot sweeps the keys whose history it was holding.
+ */
+public final class TaskRepository {
+    private static final int DEFAULT_SHARDS = 64;
+
+    // One entry per write. A null task marks a removal; sequence is the order in
+    // which the id was first added, which snapshots use as their list order.
+    private record Version(Task task, long version, long sequence, Version older) {
+        Version visibleAt(long snapshot) {
+            Version current = this;
+            while (current != null && current.version > snapshot) {
+                current = current.older;
+            }
+            return current;
+        }
+    }
+
+    private static final class Shard {
+        final ReentrantLock lock = new ReentrantLock();
+        final ConcurrentHashMap<Long, Version> versions = new ConcurrentHashMap<>();
+        // Ids holding a removal or older versions for open snapshots, which a
+        // sweep may reclaim. Guarded by the lock.
+        final Set<Long> retained = new HashSet<>();
+    }
+
+    private final Shard[] shards;
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger size = new AtomicInteger();
+    // Open snapshot versions with their reference counts.
+    private final ConcurrentSkipListMap<Long, Integer> openSnapshots = new ConcurrentSkipListMap<>();
+
+    public TaskRepository() {
+        this(DEFAULT_SHARDS);
+    }
+
+    public TaskRepository(int shardCount) {
+        if (shardCount <= 0 || Integer.bitCount(shardCount) != 1) {
+            throw new IllegalArgumentException("Shard count must be a positive power of two: " + shardCount);
+        }
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    public Optional<Task> get(Long id) {
+        Version latest = id == null ? null : shardFor(id).versions.get(id);
+        return latest == null ? Optional.empty() : Optional.ofNullable(latest.task());
+    }
+
+    /** Inserts or replaces the task with the same id, returning the previous one. */
+    public Optional<Task> put(Task task) {
+        Long id = Objects.requireNonNull(task.id(), "Task id must not be null");
+        return write(id, task);
+    }
+
+    public Optional<Task> remove(Long id) {
+        return id == null ? Optional.empty() : write(id, null);
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    /** A consistent view of every task as of now. */
+    public Snapshot snapshot() {
+        long snapshotVersion;
+        lockAll();
+        try {
+            // No write is in flight, so every version up to this one is installed.
+            snapshotVersion = version.get();
+            openSnapshots.merge(snapshotVersion, 1, Integer::sum);
+        } finally {
+            unlockAll();
+        }
+        return new Snapshot(snapshotVersion);
+    }
+
+    private Optional<Task> write(Long id, Task task) {
+        Shard shard = shardFor(id);
+        shard.lock.lock();
+        try {
+            Version latest = shard.versions.get(id);
+            Task previous = latest == null ? null : latest.task();
+            if (previous == null && task == null) {
+                return Optional.empty();
+            }
+            long sequenceNumber = previous == null ? sequence.getAndIncrement() : latest.sequence();
+            Version next = new Version(task, version.incrementAndGet(), sequenceNumber, latest);
+            install(shard, id, prune(next, oldestNeeded()));
+            if (previous == null) {
+                size.incrementAndGet();
+            } else if (task == null) {
+                size.decrementAndGet();
+            }
+            return Optional.ofNullable(previous);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    // Called with the shard locked.
+    private static void install(Shard shard, Long id, Version pruned) {
+        if (pruned == null) {
+            shard.versions.remove(id);
+            shard.retained.remove(id);
+            return;
+        }
+        shard.versions.put(id, pruned);
+        if (pruned.task() == null || pruned.older() != null) {
+            shard.retained.add(id);
+        } else {
+            shard.retained.remove(id);
+        }
+    }
+
+    // Drops the history no open snapshot needs any more. Only the retained ids
+    // are visited, so the cost follows the churn rather than the repository size.
+    private void sweep() {
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                long oldest = oldestNeeded();
+                for (Long id : new ArrayList<>(shard.retained)) {
+                    install(shard, id, prune(shard.versions.get(id), oldest));
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    /** The number of versions held across all ids, including removals. */
+    int versionCount() {
+        int count = 0;
+        for (Shard shard : shards) {
+            for (Version latest : shard.versions.values()) {
+                for (Version current = latest; current != null; current = current.older()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private long oldestNeeded() {
+        Long oldest = openSnapshots.isEmpty() ? null : openSnapshots.firstKey();
+        return oldest == null ? Long.MAX_VALUE : oldest;
+    }
+
+    // Keeps the versions newer than the oldest open snapshot plus the one that
+    // snapshot sees, and drops the key entirely once that is a removal.
+    private static Version prune(Version head, long oldest) {
+        if (head.version() <= oldest) {
+            return head.task() == null ? null : new Version(head.task(), head.version(), head.sequence(), null);
+        }
+        Version older = head.older() == null ? null : prune(head.older(), oldest);
+        return older == head.older() ? head : new Version(head.task(), head.version(), head.sequence(), older);
+    }
+
+    private Shard shardFor(long id) {
+        long mixed = id * 0x9E3779B97F4A7C15L;
+        return shards[(int) (mixed >>> 32) & (shards.length - 1)];
+    }
+
+    private void lockAll() {
+        for (Shard shard : shards) {
+            shard.lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = shards.length - 1; i >= 0; i--) {
+            shards[i].lock.unlock();
+        }
+    }
+
+    /** Read-only view of the repository at one version. Safe to share between threads. */
+    public final class Snapshot implements AutoCloseable {
+        private final long version;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private TaskAnalyzer analyzer;
+
+        private Snapshot(long version) {
+            this.version = version;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public Optional<Task> get(Long id) {
+            checkOpen();
+            Version latest = id == null ? null : shardFor(id).versions.get(id);
+            Version visible = latest == null ? null : latest.visibleAt(version);
+            return visible == null ? Optional.empty() : Optional.ofNullable(visible.task());
+        }
+
+        /** Every task in the snapshot, in the order their ids were first added. */
+        public List<Task> tasks() {
+            checkOpen();
+            List<Version> visible = new ArrayList<>();
+            for (Shard shard : shards) {
+                for (Version latest : shard.versions.values()) {
+                    Version at = latest.visibleAt(version);
+                    if (at != null && at.task() != null) {
+                        visible.add(at);
+                    }
+                }
+            }
+            visible.sort(Comparator.comparingLong(Version::sequence));
+            List<Task> tasks = new ArrayList<>(visible.size());
+            visible.forEach(entry -> tasks.add(entry.task()));
+            return tasks;
+        }
+
+        /**
+         * An analyzer over {@link #tasks()}, built on the first call and shared by
+         * later ones, so callers must only query it. It stays valid after the
+         * snapshot is closed.
+         */
+        public synchronized TaskAnalyzer analyzer() {
+            checkOpen();
+            if (analyzer == null) {
+                analyzer = new TaskAnalyzer(tasks());
+            }
+            return analyzer;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                openSnapshots.computeIfPresent(version, (v, count) -> count == 1 ? null : count - 1);
+                if (oldestNeeded() > version) {
+                    // This was the oldest snapshot; what it held may now be unneeded.
+                    sweep();
+                }
+            }
+        }
+
+        private void checkOpen() {
+            if (closed.get()) {
+                throw new IllegalStateException("Snapshot is closed");
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package edu.trincoll.service;
+
+/**
+ * Counters of an analyzer's query cache. Evictions make room for new entries;
+ * invalidations count edits that dropped the whole cache.
+ */
+public record CacheStats(long hits, long misses, long evictions, long invalidations, int size) {
+
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,133 @@
+package edu.trincoll.service;
+
+import edu.trincoll.functional.PredicateNode;
+import edu.trincoll.model.Task;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded LRU cache of analyzer query results. Every entry belongs to the
+ * analyzer version it was computed at; the first lookup at a newer version drops
+ * them all, so an edit invalidates the cache in O(1) and stale results are never
+ * returned. Not thread-safe, like the analyzer that owns it.
+ */
+final class QueryCache {
+
+    private record Conjunction(Set<Object> operands) {
+    }
+
+    private record Disjunction(Set<Object> operands) {
+    }
+
+    private record Negation(Object operand) {
+    }
+
+    private final int maxEntries;
+    private final LinkedHashMap<Object, Object> entries;
+    private long version;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    QueryCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+                if (size() > QueryCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    int maxEntries() {
+        return maxEntries;
+    }
+
+    @SuppressWarnings("unchecked")
+    <R> R get(Object key, long currentVersion, Supplier<R> query) {
+        if (currentVersion != version) {
+            if (!entries.isEmpty()) {
+                invalidations++;
+                entries.clear();
+            }
+            version = currentVersion;
+        }
+        Object cached = entries.get(key);
+        if (cached != null) {
+            hits++;
+            return (R) cached;
+        }
+        misses++;
+        R result = query.get();
+        entries.put(key, result);
+        return result;
+    }
+
+    CacheStats stats() {
+        return new CacheStats(hits, misses, evictions, invalidations, entries.size());
+    }
+
+    /**
+     * A key equal for every predicate with the same meaning as {@code predicate},
+     * up to the order and repetition of {@code and}/{@code or} operands and double
+     * negation; {@code null} if the result cannot be cached. Only
+     * {@link PredicateNode} trees qualify: an opaque lambda may read state the
+     * analyzer cannot see, and overdue tests change with the clock.
+     */
+    static Object keyOf(Predicate<Task> predicate) {
+        if (predicate instanceof PredicateNode.IsOverdue || !(predicate instanceof PredicateNode)) {
+            return null;
+        }
+        if (predicate instanceof PredicateNode.And node) {
+            Set<Object> operands = new HashSet<>();
+            return collect(node, PredicateNode.And.class, operands) ? combined(operands, Conjunction::new) : null;
+        }
+        if (predicate instanceof PredicateNode.Or node) {
+            Set<Object> operands = new HashSet<>();
+            return collect(node, PredicateNode.Or.class, operands) ? combined(operands, Disjunction::new) : null;
+        }
+        if (predicate instanceof PredicateNode.Not node) {
+            if (node.operand() instanceof PredicateNode.Not inner) {
+                return keyOf(inner.operand());
+            }
+            Object operand = keyOf(node.operand());
+            return operand == null ? null : new Negation(operand);
+        }
+        // Leaves are records, so equal leaves are equal keys.
+        return predicate;
+    }
+
+    // Flattens nested operators of the same kind into one operand set.
+    private static boolean collect(Predicate<Task> predicate, Class<?> operator, Set<Object> operands) {
+        if (predicate instanceof PredicateNode.And node && operator == PredicateNode.And.class) {
+            return collect(node.left(), operator, operands) && collect(node.right(), operator, operands);
+        }
+        if (predicate instanceof PredicateNode.Or node && operator == PredicateNode.Or.class) {
+            return collect(node.left(), operator, operands) && collect(node.right(), operator, operands);
+        }
+        Object key = keyOf(predicate);
+        if (key == null) {
+            return false;
+        }
+        operands.add(key);
+        return true;
+    }
+
+    private static Object combined(Set<Object> operands, Function<Set<Object>, Object> operator) {
+        return operands.size() == 1 ? operands.iterator().next() : operator.apply(Set.copyOf(operands));
+    }
+}
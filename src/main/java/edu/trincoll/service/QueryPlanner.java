@@ -0,0 +1,177 @@
+package edu.trincoll.service;
+
+import edu.trincoll.functional.PredicateNode;
+import edu.trincoll.index.DueDateIndex;
+import edu.trincoll.index.PostingList;
+import edu.trincoll.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Turns a predicate into a candidate set drawn from the analyzer's indexes plus
+ * the residual test that still has to run against each candidate.
+ */
+final class QueryPlanner {
+
+    /**
+     * A {@code null} candidate set means every task; a {@code null} residual means
+     * the candidates are already the exact answer.
+     */
+    record Plan(PostingList candidates, Predicate<Task> residual) {
+        boolean isExact() {
+            return residual == null;
+        }
+    }
+
+    private final PostingList universe;
+    private final Map<Task.Status, PostingList> byStatus;
+    private final Map<Task.Priority, PostingList> byPriority;
+    private final Map<Integer, PostingList> byTag;
+    private final DueDateIndex openByDueDate;
+    private final Supplier<LocalDateTime> clock;
+
+    /** {@code universe} holds the ordinals of every live task and may change between plans. */
+    QueryPlanner(PostingList universe,
+                 Map<Task.Status, PostingList> byStatus,
+                 Map<Task.Priority, PostingList> byPriority,
+                 Map<Integer, PostingList> byTag,
+                 DueDateIndex openByDueDate,
+                 Supplier<LocalDateTime> clock) {
+        this.universe = universe;
+        this.byStatus = byStatus;
+        this.byPriority = byPriority;
+        this.byTag = byTag;
+        this.openByDueDate = openByDueDate;
+        this.clock = clock;
+    }
+
+    Plan plan(Predicate<Task> predicate) {
+        if (predicate instanceof PredicateNode.ByStatus node) {
+            return new Plan(posting(byStatus, node.status()), null);
+        }
+        if (predicate instanceof PredicateNode.ByPriority node) {
+            return new Plan(posting(byPriority, node.priority()), null);
+        }
+        if (predicate instanceof PredicateNode.HasTag node) {
+            return new Plan(posting(byTag, node.tagId()), null);
+        }
+        if (predicate instanceof PredicateNode.IsActive) {
+            return new Plan(union(posting(byStatus, Task.Status.TODO),
+                                  posting(byStatus, Task.Status.IN_PROGRESS)), null);
+        }
+        if (predicate instanceof PredicateNode.IsOverdue) {
+            return new Plan(openByDueDate.dueBefore(clock.get()), null);
+        }
+        if (predicate instanceof PredicateNode.And) {
+            return planConjunction(predicate);
+        }
+        if (predicate instanceof PredicateNode.Or node) {
+            return planDisjunction(node);
+        }
+        if (predicate instanceof PredicateNode.Not node) {
+            Plan operand = plan(node.operand());
+            if (operand.isExact()) {
+                PostingList matches = operand.candidates();
+                return new Plan(matches == null ? new PostingList() : complement(matches), null);
+            }
+            return new Plan(null, atNow(predicate, clock.get()));
+        }
+        return new Plan(null, predicate);
+    }
+
+    long estimate(Plan plan) {
+        return plan.candidates() == null ? universe.cardinality() : plan.candidates().cardinality();
+    }
+
+    // Intersect the most selective operands first so an empty intermediate
+    // result short-circuits the remaining ones.
+    private Plan planConjunction(Predicate<Task> predicate) {
+        List<Plan> operands = new ArrayList<>();
+        flattenConjunction(predicate).forEach(operand -> operands.add(plan(operand)));
+        operands.sort(Comparator.comparingLong(this::estimate));
+
+        PostingList candidates = null;
+        Predicate<Task> residual = null;
+        for (Plan operand : operands) {
+            if (operand.candidates() != null) {
+                candidates = candidates == null ? operand.candidates() : candidates.and(operand.candidates());
+                if (candidates.isEmpty()) {
+                    return new Plan(candidates, null);
+                }
+            }
+            if (operand.residual() != null) {
+                residual = residual == null ? operand.residual() : residual.and(operand.residual());
+            }
+        }
+        return new Plan(candidates, residual);
+    }
+
+    private List<Predicate<Task>> flattenConjunction(Predicate<Task> predicate) {
+        List<Predicate<Task>> operands = new ArrayList<>();
+        Deque<Predicate<Task>> pending = new ArrayDeque<>();
+        pending.push(predicate);
+        while (!pending.isEmpty()) {
+            Predicate<Task> next = pending.pop();
+            if (next instanceof PredicateNode.And and) {
+                pending.push(and.right());
+                pending.push(and.left());
+            } else {
+                operands.add(next);
+            }
+        }
+        return operands;
+    }
+
+    private Plan planDisjunction(PredicateNode.Or node) {
+        Plan left = plan(node.left());
+        Plan right = plan(node.right());
+        PostingList candidates = left.candidates() == null || right.candidates() == null
+            ? null
+            : union(left.candidates(), right.candidates());
+        if (left.isExact() && right.isExact()) {
+            return new Plan(candidates, null);
+        }
+        // Any match lies in one of the two candidate sets, but only the full
+        // disjunction can decide membership once either side is inexact.
+        return new Plan(candidates, atNow(node, clock.get()));
+    }
+
+    // A residual node tests its overdue leaves against the system clock. Rebinds
+    // them to the planner's clock so they agree with the due-date index.
+    private static Predicate<Task> atNow(Predicate<Task> predicate, LocalDateTime now) {
+        if (predicate instanceof PredicateNode.IsOverdue) {
+            return task -> task.isOverdue(now);
+        }
+        if (predicate instanceof PredicateNode.And node) {
+            Predicate<Task> left = atNow(node.left(), now);
+            Predicate<Task> right = atNow(node.right(), now);
+            return left == node.left() && right == node.right() ? node : left.and(right);
+        }
+        if (predicate instanceof PredicateNode.Or node) {
+            Predicate<Task> left = atNow(node.left(), now);
+            Predicate<Task> right = atNow(node.right(), now);
+            return left == node.left() && right == node.right() ? node : left.or(right);
+        }
+        if (predicate instanceof PredicateNode.Not node) {
+            Predicate<Task> operand = atNow(node.operand(), now);
+            return operand == node.operand() ? node : operand.negate();
+        }
+        return predicate;
+    }
+
+    private static <K> PostingList posting(Map<K, PostingList> index, K key) {
+        PostingList posting = index.get(key);
+        return posting == null ? new PostingList() : posting;
+    }
+
+    private static PostingList union(PostingList a, PostingList b) {
+        return a.or(b);
+    }
+
+    private PostingList complement(PostingList ordinals) {
+        return universe.andNot(ordinals);
+    }
+}
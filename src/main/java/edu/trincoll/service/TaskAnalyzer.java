@@ -1,108 +1,752 @@
 package edu.trincoll.service;
 
+import edu.trincoll.collection.PersistentVector;
 import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.index.DueDateIndex;
+import edu.trincoll.index.PostingList;
+import edu.trincoll.metrics.MetricsRecorder;
+import edu.trincoll.model.TagDictionary;
+import edu.trincoll.model.TagSet;
 import edu.trincoll.model.Task;
+import edu.trincoll.processor.ExecutionPolicy;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.function.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+/**
+ * Indexed view over a collection of tasks. Tasks can be added, updated and
+ * removed after construction; every index and aggregate is adjusted in place,
+ * so queries never rescan the whole collection after an edit. Not thread-safe.
+ *
+ * <p>Overdue queries read "now" from the builder's {@link Clock} and are answered
+ * from a due-date index. {@link #pollNewlyOverdue()} reports the tasks that have
+ * become overdue since the previous poll; {@link #nextOverdueAt()} tells the
+ * caller when to poll next instead of rescanning on a timer.
+ *
+ * <p>Queries whose cost grows with the collection report to the builder's
+ * {@link MetricsRecorder} as {@code TaskAnalyzer.<method>}; O(1) lookups do not.
+ *
+ * <p>With {@link Builder#queryCache(int)} the aggregate queries and filters over
+ * {@link edu.trincoll.functional.PredicateNode} trees are memoized until the next
+ * edit. Cached results are shared between callers and therefore unmodifiable.
+ *
+ * <p>{@link #streamTasks}, {@link #page} and {@link #anyMatch}/{@link #allMatch}
+ * walk the planned index candidates lazily, so callers that need a page or a
+ * yes/no answer stop after the tasks that decide it.
+ */
 public class TaskAnalyzer {
-    private final List<Task> tasks;
+    // Compaction rewrites every index, so it only runs once removed slots
+    // outnumber live ones, which keeps removal O(1) amortized.
+    private static final int MIN_COMPACTION_SLOTS = 64;
+
+    private enum CachedQuery {
+        GROUP_BY_STATUS,
+        UNIQUE_TAGS,
+        ALL_TAGS_SORTED,
+        COUNT_BY_PRIORITY
+    }
+
+    private record FilterQuery(Object predicate) {
+    }
+
+    private final ExecutionPolicy executionPolicy;
+    private final MetricsRecorder recorder;
+    private final QueryCache cache;
+    // Bumped by every edit; cached results from older versions are discarded.
+    private long version;
+    private final TagDictionary tagDictionary = TagDictionary.global();
+    private final Clock clock;
+    private final List<Consumer<Task>> overdueListeners = new ArrayList<>();
+    // Open tasks due before the watermark have already been reported as overdue.
+    private LocalDateTime overdueWatermark;
+
+    // Tasks by ordinal, in insertion order. Removed tasks leave a null slot until
+    // the next compaction so that the ordinals held by the indexes stay valid.
+    // The vector is persistent, so snapshots and derived analyzers share it.
+    private PersistentVector<Task> slots;
+    private PostingList live;
+    private int removedSlots;
+    private boolean hasDuplicateIds;
+    // Compactions renumber the slots, so page cursors carry the epoch they were
+    // issued in. The old ordinals of the latest compaction's survivors translate
+    // cursors from the epoch before it.
+    private int epoch;
+    private PostingList compactionSurvivors;
+
+    // Indexes maintained on every change so that id, status, priority and tag
+    // queries cost time proportional to the result rather than the corpus.
+    // Secondary indexes hold task ordinals so the query planner can intersect
+    // and union them. Tags are keyed by TagDictionary id and decoded only when
+    // returned. The tag postings double as reference counts: a tag is dropped
+    // when its last task goes.
+    private Map<Long, Integer> ordinalsById;
+    private Map<Task.Status, PostingList> tasksByStatus;
+    private Map<Task.Priority, PostingList> tasksByPriority;
+    private Map<Integer, PostingList> tasksByTag;
+    // Tasks that can still become overdue (not done or cancelled), by due date.
+    private DueDateIndex openByDueDate;
+    private long hourSum;
+    private int hourCount;
+    private QueryPlanner planner;
 
     public TaskAnalyzer(List<Task> tasks) {
-        this.tasks = new ArrayList<>(tasks);
+        this(builder(tasks));
+    }
+
+    private TaskAnalyzer(Builder builder) {
+        this.executionPolicy = builder.executionPolicy;
+        this.recorder = builder.metrics;
+        this.cache = builder.cacheSize == 0 ? null : new QueryCache(builder.cacheSize);
+        this.clock = builder.clock;
+        this.overdueWatermark = now();
+        rebuild(PersistentVector.copyOf(builder.tasks));
+    }
+
+    public static Builder builder(List<Task> tasks) {
+        return new Builder(tasks);
+    }
+
+    /** Appends {@code task}; a task with an id must not share it with a live task. */
+    public void add(Task task) {
+        Objects.requireNonNull(task);
+        if (task.id() != null && ordinalsById.containsKey(task.id())) {
+            throw new IllegalArgumentException("Duplicate task id: " + task.id());
+        }
+        int ordinal = slots.size();
+        slots = slots.append(task);
+        live.add(ordinal);
+        index(ordinal, task);
+        version++;
+        if (isReportedOverdue(task)) {
+            notifyOverdue(task);
+        }
+    }
+
+    /**
+     * Replaces the live task with the same id, keeping its position.
+     *
+     * @return whether a task with that id was found
+     */
+    public boolean update(Task task) {
+        Integer ordinal = task.id() == null ? null : ordinalsById.get(task.id());
+        if (ordinal == null) {
+            return false;
+        }
+        Task previous = slots.get(ordinal);
+        unindex(ordinal, previous);
+        slots = slots.with(ordinal, task);
+        index(ordinal, task);
+        version++;
+        if (isReportedOverdue(task) && !isReportedOverdue(previous)) {
+            notifyOverdue(task);
+        }
+        return true;
+    }
+
+    /** Removes the live task with the same id as {@code task}. */
+    public boolean remove(Task task) {
+        return task.id() != null && removeById(task.id());
+    }
+
+    public boolean removeById(Long id) {
+        Integer ordinal = id == null ? null : ordinalsById.get(id);
+        if (ordinal == null) {
+            return false;
+        }
+        unindex(ordinal, slots.get(ordinal));
+        slots = slots.with(ordinal, null);
+        live.remove(ordinal);
+        removedSlots++;
+        version++;
+        if (hasDuplicateIds) {
+            reindexDuplicate(id);
+        }
+        if (removedSlots >= MIN_COMPACTION_SLOTS && removedSlots > live.cardinality()) {
+            PostingList survivors = live;
+            rebuild(PersistentVector.copyOf(liveTasks()));
+            compactionSurvivors = survivors;
+            epoch++;
+        }
+        return true;
+    }
+
+    public int size() {
+        return slots.size() - removedSlots;
+    }
+
+    /**
+     * The current tasks as an immutable vector. Unless removals are pending
+     * compaction this takes O(1) time; later edits to the analyzer do not affect
+     * the returned vector, so it can be kept for undo or passed to {@link #builder}.
+     */
+    public PersistentVector<Task> snapshot() {
+        return removedSlots == 0 ? slots : PersistentVector.copyOf(liveTasks());
+    }
+
+    /**
+     * A new analyzer over {@code transformer} applied to every task, with the same
+     * policy and clock. Tasks the transformer returns unchanged keep sharing
+     * storage with this analyzer, which is left as it was.
+     */
+    public TaskAnalyzer transform(Function<Task, Task> transformer) {
+        return builder(snapshot().map(transformer::apply))
+            .executionPolicy(executionPolicy)
+            .metrics(recorder)
+            .queryCache(cache == null ? 0 : cache.maxEntries())
+            .clock(clock)
+            .build();
+    }
+
+    /**
+     * Registers a listener for tasks becoming overdue, whether because the clock
+     * passed their due date (see {@link #pollNewlyOverdue()}) or because an added
+     * or updated task was already past due.
+     */
+    public void onBecameOverdue(Consumer<Task> listener) {
+        overdueListeners.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Reports the open tasks whose due date the clock has passed since the previous
+     * poll, in due-date order, to the registered listeners and the caller.
+     */
+    public List<Task> pollNewlyOverdue() {
+        LocalDateTime now = now();
+        List<Task> newlyOverdue = new ArrayList<>();
+        if (now.isAfter(overdueWatermark)) {
+            PostingList crossed = openByDueDate.dueBetween(overdueWatermark, now);
+            overdueWatermark = now;
+            crossed.forEach(ordinal -> newlyOverdue.add(slots.get(ordinal)));
+            newlyOverdue.sort(Comparator.comparing(Task::dueDate));
+            newlyOverdue.forEach(this::notifyOverdue);
+        }
+        return newlyOverdue;
+    }
+
+    /**
+     * The earliest due date of an open task that has not been reported overdue.
+     * The task becomes overdue as soon as the clock passes it.
+     */
+    public Optional<LocalDateTime> nextOverdueAt() {
+        return Optional.ofNullable(openByDueDate.nextDueDate(overdueWatermark));
     }
 
-    // TODO: Implement using streams and filter
     public List<Task> filterTasks(Predicate<Task> predicate) {
-        // Implementation needed
-        return null;
+        return measured("TaskAnalyzer.filterTasks", () -> filter(predicate));
+    }
+
+    /**
+     * Lazy {@link #filterTasks}: candidates are tested only as the stream pulls
+     * them, so {@code findFirst} or {@code limit} stop early. The analyzer must
+     * not be edited while the stream is in use.
+     */
+    public Stream<Task> streamTasks(Predicate<Task> predicate) {
+        return matching(planner.plan(predicate), 0).mapToObj(slots::get);
+    }
+
+    /** The first {@code limit} matching tasks after skipping {@code offset} of them. */
+    public TaskPage page(Predicate<Task> predicate, int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative: " + offset);
+        }
+        checkPageSize(limit);
+        return recorder.measure("TaskAnalyzer.page", size(), () -> {
+            QueryPlanner.Plan plan = planner.plan(predicate);
+            if (!plan.isExact()) {
+                return toPage(matching(plan, 0).skip(offset), limit);
+            }
+            // Exact candidates are skipped by rank without visiting them.
+            int from = (plan.candidates() == null ? live : plan.candidates()).select(offset);
+            return from < 0 ? new TaskPage(List.of(), null) : toPage(matching(plan, from), limit);
+        }, page -> page.tasks().size());
+    }
+
+    /** The next {@code limit} matching tasks after a previous page of the same query. */
+    public TaskPage page(Predicate<Task> predicate, TaskPage.Cursor after, int limit) {
+        checkPageSize(limit);
+        int from = resume(after);
+        return recorder.measure("TaskAnalyzer.page", size(),
+            () -> toPage(matching(planner.plan(predicate), from), limit), page -> page.tasks().size());
+    }
+
+    /** Whether any task matches; stops at the first match, or at once if the indexes answer exactly. */
+    public boolean anyMatch(Predicate<Task> predicate) {
+        QueryPlanner.Plan plan = planner.plan(predicate);
+        if (plan.isExact()) {
+            return plan.candidates() == null ? size() > 0 : !plan.candidates().isEmpty();
+        }
+        return matching(plan, 0).findFirst().isPresent();
+    }
+
+    /** Whether every task matches; stops at the first task that does not. */
+    public boolean allMatch(Predicate<Task> predicate) {
+        QueryPlanner.Plan plan = planner.plan(predicate);
+        if (plan.candidates() != null && plan.candidates().cardinality() < size()) {
+            // Some task is not even a candidate.
+            return false;
+        }
+        return plan.isExact() || live.stream().allMatch(ordinal -> plan.residual().test(slots.get(ordinal)));
     }
 
-    // TODO: Implement using Optional
     public Optional<Task> findTaskById(Long id) {
-        // Implementation needed
-        return Optional.empty();
+        return Optional.ofNullable(id).map(ordinalsById::get).map(slots::get);
+    }
+
+    public List<Task> findByStatus(Task.Status status) {
+        return measured("TaskAnalyzer.findByStatus", () -> materialize(tasksByStatus.get(status)));
+    }
+
+    public List<Task> findByPriority(Task.Priority priority) {
+        return measured("TaskAnalyzer.findByPriority", () -> materialize(tasksByPriority.get(priority)));
+    }
+
+    public List<Task> findByTag(String tag) {
+        return measured("TaskAnalyzer.findByTag", () -> materialize(tasksByTag.get(tagDictionary.idOf(tag))));
+    }
+
+    public List<Task> findByAllTags(Collection<String> tags) {
+        return measured("TaskAnalyzer.findByAllTags", () -> withAllTags(tags));
+    }
+
+    public List<Task> findByAnyTag(Collection<String> tags) {
+        return measured("TaskAnalyzer.findByAnyTag", () -> withAnyTag(tags));
+    }
+
+    private List<Task> withAllTags(Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return new ArrayList<>(liveTasks());
+        }
+        List<PostingList> postings = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            PostingList posting = tasksByTag.get(tagDictionary.idOf(tag));
+            if (posting == null) {
+                return new ArrayList<>();
+            }
+            postings.add(posting);
+        }
+        postings.sort(Comparator.comparingInt(PostingList::cardinality));
+        PostingList result = postings.get(0);
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result = result.and(postings.get(i));
+        }
+        return materialize(result);
+    }
+
+    private List<Task> withAnyTag(Collection<String> tags) {
+        List<PostingList> postings = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            PostingList posting = tasksByTag.get(tagDictionary.idOf(tag));
+            if (posting != null) {
+                postings.add(posting);
+            }
+        }
+        return materialize(PostingList.union(postings));
     }
 
-    // TODO: Implement using streams, sorted, and limit
     public List<Task> getTopPriorityTasks(int limit) {
-        // Implementation needed
-        return null;
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative: " + limit);
+        }
+        return measured("TaskAnalyzer.getTopPriorityTasks", () -> topByPriority(limit));
+    }
+
+    // Walks the priority postings from highest to lowest, which yields the order of
+    // a stable descending sort while touching only the tasks that are returned.
+    private List<Task> topByPriority(int limit) {
+        List<Task> top = new ArrayList<>(Math.min(limit, size()));
+        Task.Priority[] priorities = Task.Priority.values();
+        for (int i = priorities.length - 1; i >= 0 && top.size() < limit; i--) {
+            PostingList ordinals = tasksByPriority.get(priorities[i]);
+            if (ordinals != null) {
+                appendUpTo(top, ordinals, limit);
+            }
+        }
+        if (top.size() < limit) {
+            // Tasks without a priority rank last.
+            PostingList unprioritized = live;
+            for (PostingList ordinals : tasksByPriority.values()) {
+                unprioritized = unprioritized.andNot(ordinals);
+            }
+            appendUpTo(top, unprioritized, limit);
+        }
+        return top;
     }
 
-    // TODO: Implement using streams and groupingBy
     public Map<Task.Status, List<Task>> groupByStatus() {
-        // Implementation needed
-        return null;
+        return recorder.measure("TaskAnalyzer.groupByStatus", size(), () -> cached(CachedQuery.GROUP_BY_STATUS,
+            this::statusGroups, grouped -> {
+                grouped.replaceAll((status, group) -> Collections.unmodifiableList(group));
+                return Collections.unmodifiableMap(grouped);
+            }), Map::size);
     }
 
-    // TODO: Implement using streams and partitioningBy
     public Map<Boolean, List<Task>> partitionByOverdue() {
-        // Implementation needed
-        return null;
+        return recorder.measure("TaskAnalyzer.partitionByOverdue", size(), () -> overduePartition(now()), Map::size);
     }
 
-    // TODO: Implement using streams, map, and collect
     public Set<String> getAllUniqueTags() {
-        // Implementation needed
-        return null;
+        return recorder.measure("TaskAnalyzer.getAllUniqueTags", size(), () -> cached(CachedQuery.UNIQUE_TAGS,
+            this::uniqueTagNames, Collections::unmodifiableSet), Set::size);
     }
 
-    // TODO: Implement using streams and reduce
+    /**
+     * The sum of the estimated hours. The sum is kept as a {@code long}; a total
+     * outside the {@code int} range is reported as {@link Integer#MAX_VALUE} or
+     * {@link Integer#MIN_VALUE} rather than overflowing.
+     */
     public Optional<Integer> getTotalEstimatedHours() {
-        // Implementation needed
-        return Optional.empty();
+        return hourCount == 0
+            ? Optional.empty()
+            : Optional.of(TaskSummary.saturated(hourSum));
     }
 
-    // TODO: Implement using streams, map, and average
     public OptionalDouble getAverageEstimatedHours() {
-        // Implementation needed
-        return OptionalDouble.empty();
+        return hourCount == 0
+            ? OptionalDouble.empty()
+            : OptionalDouble.of((double) hourSum / hourCount);
+    }
+
+    /** Lazy {@link #getTaskTitles()}. */
+    public Stream<String> streamTaskTitles() {
+        return live.stream().mapToObj(ordinal -> slots.get(ordinal).title());
     }
 
-    // TODO: Implement using method references and map
     public List<String> getTaskTitles() {
-        // Implementation needed
-        return null;
+        return recorder.measure("TaskAnalyzer.getTaskTitles", size(), () -> executionPolicy.evaluate(liveTasks(),
+            stream -> stream
+                .map(Task::title)
+                .collect(Collectors.toList())), List::size);
     }
 
-    // TODO: Implement using custom functional interface
     public List<Task> filterWithCustomPredicate(TaskPredicate predicate) {
-        // Implementation needed
-        return null;
+        return measured("TaskAnalyzer.filterWithCustomPredicate", () -> filter(predicate));
     }
 
-    // TODO: Implement using streams and flatMap
     public List<String> getAllTagsSorted() {
-        // Implementation needed
-        return null;
+        return recorder.measure("TaskAnalyzer.getAllTagsSorted", size(), () -> cached(CachedQuery.ALL_TAGS_SORTED,
+            () -> streamAllTagsSorted().collect(Collectors.toList()),
+            Collections::unmodifiableList), List::size);
+    }
+
+    /**
+     * Lazy {@link #getAllTagsSorted()}: only the distinct tags are sorted, and
+     * each repetition is produced as the stream reaches it.
+     */
+    public Stream<String> streamAllTagsSorted() {
+        return tasksByTag.entrySet().stream()
+            .map(entry -> Map.entry(tagDictionary.name(entry.getKey()), entry.getValue().cardinality()))
+            .sorted(Map.Entry.comparingByKey())
+            .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream());
     }
 
-    // TODO: Implement using streams and counting collector
     public Map<Task.Priority, Long> countTasksByPriority() {
-        // Implementation needed
-        return null;
+        return recorder.measure("TaskAnalyzer.countTasksByPriority", size(), () -> cached(CachedQuery.COUNT_BY_PRIORITY,
+            this::priorityCounts, Collections::unmodifiableMap), Map::size);
     }
 
-    // TODO: Implement using Optional operations
     public String getTaskSummary(Long taskId) {
-        // Implementation needed
-        return "Task not found";
+        return findTaskById(taskId)
+            .map(task -> String.format("%s [%s, %s]", task.title(), task.priority(), task.status()))
+            .orElse("Task not found");
     }
 
-    // TODO: Implement using streams and anyMatch
     public boolean hasOverdueTasks() {
-        // Implementation needed
-        return false;
+        return openByDueDate.anyDueBefore(now());
     }
 
-    // TODO: Implement using streams and allMatch
     public boolean areAllTasksAssigned() {
-        // Implementation needed
-        return false;
+        return hourCount == size();
+    }
+
+    public TaskSummary summarize(TaskSummary.Metric first, TaskSummary.Metric... rest) {
+        return summarize(EnumSet.of(first, rest));
+    }
+
+    /**
+     * Reads each requested metric off the indexes and running totals the
+     * analyzer maintains, so no metric needs a pass over the tasks.
+     */
+    public TaskSummary summarize(Set<TaskSummary.Metric> metrics) {
+        if (metrics.isEmpty()) {
+            throw new IllegalArgumentException("At least one metric must be requested");
+        }
+        LocalDateTime now = now();
+        return recorder.measure("TaskAnalyzer.summarize", size(), () -> new TaskSummary(metrics,
+            metrics.contains(TaskSummary.Metric.GROUP_BY_STATUS) ? statusGroups() : null,
+            metrics.contains(TaskSummary.Metric.COUNT_BY_PRIORITY) ? priorityCounts() : null,
+            metrics.contains(TaskSummary.Metric.UNIQUE_TAGS) ? uniqueTagNames() : null,
+            hourSum,
+            hourCount,
+            metrics.contains(TaskSummary.Metric.HAS_OVERDUE) && openByDueDate.anyDueBefore(now),
+            metrics.contains(TaskSummary.Metric.PARTITION_BY_OVERDUE) ? overduePartition(now) : null),
+            summary -> summary.metrics().size());
+    }
+
+    /** Hit, miss and eviction counts of the query cache; all zero when caching is off. */
+    public CacheStats cacheStats() {
+        return cache == null ? new CacheStats(0, 0, 0, 0, 0) : cache.stats();
+    }
+
+    private Map<Task.Status, List<Task>> statusGroups() {
+        Map<Task.Status, List<Task>> grouped = new EnumMap<>(Task.Status.class);
+        tasksByStatus.forEach((status, ordinals) -> grouped.put(status, materialize(ordinals)));
+        return grouped;
+    }
+
+    private Map<Task.Priority, Long> priorityCounts() {
+        Map<Task.Priority, Long> counts = new EnumMap<>(Task.Priority.class);
+        tasksByPriority.forEach((priority, ordinals) -> counts.put(priority, (long) ordinals.cardinality()));
+        return counts;
+    }
+
+    private Set<String> uniqueTagNames() {
+        Set<String> unique = new HashSet<>();
+        tasksByTag.keySet().forEach(id -> unique.add(tagDictionary.name(id)));
+        return unique;
+    }
+
+    private Map<Boolean, List<Task>> overduePartition(LocalDateTime now) {
+        PostingList overdue = openByDueDate.dueBefore(now);
+        Map<Boolean, List<Task>> partitioned = new HashMap<>();
+        partitioned.put(true, materialize(overdue));
+        partitioned.put(false, materialize(live.andNot(overdue)));
+        return partitioned;
+    }
+
+    private List<Task> filter(Predicate<Task> predicate) {
+        Object key = cache == null ? null : QueryCache.keyOf(predicate);
+        if (key == null) {
+            return select(planner.plan(predicate));
+        }
+        return cached(new FilterQuery(key), () -> select(planner.plan(predicate)), Collections::unmodifiableList);
+    }
+
+    // Without a cache the query runs as before and its result stays modifiable.
+    private <R> R cached(Object key, Supplier<R> query, UnaryOperator<R> freeze) {
+        if (cache == null) {
+            return query.get();
+        }
+        return cache.get(key, version, () -> freeze.apply(query.get()));
+    }
+
+    private List<Task> measured(String operation, Supplier<List<Task>> query) {
+        return recorder.measure(operation, size(), query, List::size);
+    }
+
+    private List<Task> select(QueryPlanner.Plan plan) {
+        if (plan.isExact()) {
+            return plan.candidates() == null ? new ArrayList<>(liveTasks()) : materialize(plan.candidates());
+        }
+        Function<Stream<Task>, List<Task>> query = stream -> stream
+            .filter(plan.residual())
+            .collect(Collectors.toList());
+        if (plan.candidates() == null) {
+            return executionPolicy.evaluate(liveTasks(), query);
+        }
+        PostingList candidates = plan.candidates();
+        return executionPolicy.evaluate(candidates.cardinality(),
+            () -> candidates.stream().mapToObj(slots::get), query);
+    }
+
+    // Ordinals >= from that match the plan, tested lazily.
+    private IntStream matching(QueryPlanner.Plan plan, int from) {
+        IntStream candidates = (plan.candidates() == null ? live : plan.candidates()).stream(from);
+        if (plan.isExact()) {
+            return candidates;
+        }
+        Predicate<Task> residual = plan.residual();
+        return candidates.filter(ordinal -> residual.test(slots.get(ordinal)));
+    }
+
+    // Pulls one ordinal past the page to learn whether another page follows.
+    private TaskPage toPage(IntStream ordinals, int limit) {
+        int[] page = ordinals.limit(limit + 1L).toArray();
+        List<Task> tasks = Arrays.stream(page, 0, Math.min(limit, page.length)).mapToObj(slots::get).toList();
+        return new TaskPage(tasks, page.length > limit ? new TaskPage.Cursor(epoch, page[limit - 1] + 1) : null);
+    }
+
+    private int resume(TaskPage.Cursor cursor) {
+        if (cursor.epoch() == epoch) {
+            return cursor.ordinal();
+        }
+        if (cursor.epoch() == epoch - 1) {
+            return compactionSurvivors.rank(cursor.ordinal());
+        }
+        throw new IllegalStateException("Cursor from epoch " + cursor.epoch() + " has expired; now at " + epoch);
+    }
+
+    private static void checkPageSize(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + limit);
+        }
+    }
+
+    private void appendUpTo(List<Task> target, PostingList ordinals, int limit) {
+        PrimitiveIterator.OfInt iterator = ordinals.iterator();
+        while (target.size() < limit && iterator.hasNext()) {
+            target.add(slots.get(iterator.nextInt()));
+        }
+    }
+
+    private List<Task> materialize(PostingList ordinals) {
+        if (ordinals == null) {
+            return new ArrayList<>();
+        }
+        List<Task> result = new ArrayList<>(ordinals.cardinality());
+        ordinals.forEach(ordinal -> result.add(slots.get(ordinal)));
+        return result;
+    }
+
+    private List<Task> liveTasks() {
+        return removedSlots == 0 ? slots : materialize(live);
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private boolean isReportedOverdue(Task task) {
+        return task.isOverdue(overdueWatermark);
+    }
+
+    private void notifyOverdue(Task task) {
+        overdueListeners.forEach(listener -> listener.accept(task));
+    }
+
+    // Renumbers the tasks densely and rebuilds every index from scratch.
+    private void rebuild(PersistentVector<Task> tasks) {
+        this.slots = tasks;
+        this.live = PostingList.range(0, tasks.size());
+        this.removedSlots = 0;
+        this.hasDuplicateIds = false;
+        this.ordinalsById = new HashMap<>(Math.max(16, tasks.size() * 4 / 3 + 1));
+        this.tasksByStatus = new EnumMap<>(Task.Status.class);
+        this.tasksByPriority = new EnumMap<>(Task.Priority.class);
+        this.tasksByTag = new HashMap<>();
+        this.openByDueDate = new DueDateIndex();
+        this.hourSum = 0;
+        this.hourCount = 0;
+        for (int ordinal = 0; ordinal < tasks.size(); ordinal++) {
+            index(ordinal, tasks.get(ordinal));
+        }
+        this.planner = new QueryPlanner(live, tasksByStatus, tasksByPriority, tasksByTag,
+            openByDueDate, this::now);
+    }
+
+    private void index(int ordinal, Task task) {
+        if (task.id() != null && ordinalsById.putIfAbsent(task.id(), ordinal) != null) {
+            hasDuplicateIds = true;
+        }
+        if (task.status() != null) {
+            tasksByStatus.computeIfAbsent(task.status(), s -> new PostingList()).add(ordinal);
+        }
+        if (task.priority() != null) {
+            tasksByPriority.computeIfAbsent(task.priority(), p -> new PostingList()).add(ordinal);
+        }
+        if (task.tags() instanceof TagSet tagSet) {
+            tagSet.forEachId(tag -> tasksByTag.computeIfAbsent(tag, t -> new PostingList()).add(ordinal));
+        }
+        if (canBecomeOverdue(task)) {
+            openByDueDate.add(ordinal, task.dueDate());
+        }
+        if (task.estimatedHours() != null) {
+            hourSum += task.estimatedHours();
+            hourCount++;
+        }
+    }
+
+    private void unindex(int ordinal, Task task) {
+        if (task.id() != null) {
+            ordinalsById.remove(task.id(), ordinal);
+        }
+        if (task.status() != null) {
+            removeFrom(tasksByStatus, task.status(), ordinal);
+        }
+        if (task.priority() != null) {
+            removeFrom(tasksByPriority, task.priority(), ordinal);
+        }
+        if (task.tags() instanceof TagSet tagSet) {
+            tagSet.forEachId(tag -> removeFrom(tasksByTag, tag, ordinal));
+        }
+        if (canBecomeOverdue(task)) {
+            openByDueDate.remove(ordinal, task.dueDate());
+        }
+        if (task.estimatedHours() != null) {
+            hourSum -= task.estimatedHours();
+            hourCount--;
+        }
+    }
+
+    // Only reachable when the initial list repeated an id: the next live task
+    // with that id becomes the one found by id.
+    private void reindexDuplicate(Long id) {
+        PrimitiveIterator.OfInt iterator = live.iterator();
+        while (iterator.hasNext()) {
+            int ordinal = iterator.nextInt();
+            if (id.equals(slots.get(ordinal).id())) {
+                ordinalsById.put(id, ordinal);
+                return;
+            }
+        }
+    }
+
+    private static boolean canBecomeOverdue(Task task) {
+        return task.dueDate() != null
+            && task.status() != Task.Status.DONE
+            && task.status() != Task.Status.CANCELLED;
+    }
+
+    private static <K> void removeFrom(Map<K, PostingList> index, K key, int ordinal) {
+        PostingList ordinals = index.get(key);
+        ordinals.remove(ordinal);
+        if (ordinals.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    public static final class Builder {
+        private final List<Task> tasks;
+        private ExecutionPolicy executionPolicy = ExecutionPolicy.sequential();
+        private MetricsRecorder metrics = MetricsRecorder.noop();
+        private int cacheSize;
+        private Clock clock = Clock.systemDefaultZone();
+
+        private Builder(List<Task> tasks) {
+            this.tasks = Objects.requireNonNull(tasks);
+        }
+
+        public Builder executionPolicy(ExecutionPolicy executionPolicy) {
+            this.executionPolicy = Objects.requireNonNull(executionPolicy);
+            return this;
+        }
+
+        public Builder metrics(MetricsRecorder metrics) {
+            this.metrics = Objects.requireNonNull(metrics);
+            return this;
+        }
+
+        /** Memoizes up to {@code maxEntries} query results between edits; {@code 0} turns caching off. */
+        public Builder queryCache(int maxEntries) {
+            if (maxEntries < 0) {
+                throw new IllegalArgumentException("Cache size must not be negative: " + maxEntries);
+            }
+            this.cacheSize = maxEntries;
+            return this;
+        }
+
+        /** Source of "now" for overdue queries and events. */
+        public Builder clock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock);
+            return this;
+        }
+
+        public TaskAnalyzer build() {
+            return new TaskAnalyzer(this);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Task;
+
+import java.util.List;
+
+/**
+ * One page of matching tasks in insertion order. {@link #next()} resumes after
+ * the last task of the page and is {@code null} on the last page.
+ */
+public record TaskPage(List<Task> tasks, Cursor next) {
+
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    /**
+     * Where the next page starts. Removing or appending tasks does not move it;
+     * it expires once the analyzer has compacted twice since it was issued.
+     */
+    public record Cursor(int epoch, int ordinal) {
+    }
+}
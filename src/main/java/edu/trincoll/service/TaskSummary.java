@@ -0,0 +1,219 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collector;
+
+/**
+ * Immutable report holding any subset of the {@link TaskAnalyzer} aggregates.
+ * The analyzer reads them off its indexes; {@link #collector} computes them
+ * together in a single traversal of any stream of tasks.
+ */
+public final class TaskSummary {
+
+    public enum Metric {
+        GROUP_BY_STATUS,
+        COUNT_BY_PRIORITY,
+        UNIQUE_TAGS,
+        TOTAL_HOURS,
+        AVERAGE_HOURS,
+        HAS_OVERDUE,
+        PARTITION_BY_OVERDUE
+    }
+
+    private final Set<Metric> metrics;
+    private final Map<Task.Status, List<Task>> groupedByStatus;
+    private final Map<Task.Priority, Long> countsByPriority;
+    private final Set<String> uniqueTags;
+    private final long hourSum;
+    private final int hourCount;
+    private final boolean hasOverdue;
+    private final Map<Boolean, List<Task>> overduePartition;
+
+    /** Metrics that were not requested are passed as {@code null}, {@code 0} or {@code false}. */
+    TaskSummary(Set<Metric> metrics, Map<Task.Status, List<Task>> groupedByStatus,
+                Map<Task.Priority, Long> countsByPriority, Set<String> uniqueTags,
+                long hourSum, int hourCount, boolean hasOverdue, Map<Boolean, List<Task>> overduePartition) {
+        this.metrics = Collections.unmodifiableSet(EnumSet.copyOf(metrics));
+        this.groupedByStatus = groupedByStatus == null ? null : freeze(groupedByStatus);
+        this.countsByPriority = countsByPriority == null ? null : Collections.unmodifiableMap(countsByPriority);
+        this.uniqueTags = uniqueTags == null ? null : Collections.unmodifiableSet(uniqueTags);
+        this.hourSum = hourSum;
+        this.hourCount = hourCount;
+        this.hasOverdue = hasOverdue;
+        this.overduePartition = overduePartition == null ? null : Map.of(
+            true, Collections.unmodifiableList(overduePartition.get(true)),
+            false, Collections.unmodifiableList(overduePartition.get(false)));
+    }
+
+    /** Collector computing the requested metrics; its partial states merge in encounter order. */
+    public static Collector<Task, ?, TaskSummary> collector(Set<Metric> metrics) {
+        return collector(metrics, LocalDateTime.now());
+    }
+
+    /** As {@link #collector(Set)}, judging overdue tasks as of {@code now}. */
+    public static Collector<Task, ?, TaskSummary> collector(Set<Metric> metrics, LocalDateTime now) {
+        Objects.requireNonNull(now);
+        if (metrics.isEmpty()) {
+            throw new IllegalArgumentException("At least one metric must be requested");
+        }
+        Set<Metric> requested = EnumSet.copyOf(metrics);
+        return Collector.of(
+            () -> new Accumulator(requested, now),
+            Accumulator::add,
+            Accumulator::merge,
+            Accumulator::finish);
+    }
+
+    public Set<Metric> metrics() {
+        return metrics;
+    }
+
+    public Map<Task.Status, List<Task>> groupByStatus() {
+        require(Metric.GROUP_BY_STATUS);
+        return groupedByStatus;
+    }
+
+    public Map<Task.Priority, Long> countTasksByPriority() {
+        require(Metric.COUNT_BY_PRIORITY);
+        return countsByPriority;
+    }
+
+    public Set<String> getAllUniqueTags() {
+        require(Metric.UNIQUE_TAGS);
+        return uniqueTags;
+    }
+
+    /** As {@link TaskAnalyzer#getTotalEstimatedHours()}, saturating outside the {@code int} range. */
+    public Optional<Integer> getTotalEstimatedHours() {
+        require(Metric.TOTAL_HOURS);
+        return hourCount == 0 ? Optional.empty() : Optional.of(saturated(hourSum));
+    }
+
+    public OptionalDouble getAverageEstimatedHours() {
+        require(Metric.AVERAGE_HOURS);
+        return hourCount == 0 ? OptionalDouble.empty() : OptionalDouble.of((double) hourSum / hourCount);
+    }
+
+    public boolean hasOverdueTasks() {
+        require(Metric.HAS_OVERDUE);
+        return hasOverdue;
+    }
+
+    public Map<Boolean, List<Task>> partitionByOverdue() {
+        require(Metric.PARTITION_BY_OVERDUE);
+        return overduePartition;
+    }
+
+    private void require(Metric metric) {
+        if (!metrics.contains(metric)) {
+            throw new IllegalStateException("Metric " + metric + " was not requested");
+        }
+    }
+
+    static int saturated(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+
+    private static Map<Task.Status, List<Task>> freeze(Map<Task.Status, List<Task>> grouped) {
+        Map<Task.Status, List<Task>> frozen = new EnumMap<>(Task.Status.class);
+        grouped.forEach((status, group) -> frozen.put(status, Collections.unmodifiableList(group)));
+        return Collections.unmodifiableMap(frozen);
+    }
+
+    private static Map<Task.Priority, Long> countsOf(long[] priorityCounts) {
+        Map<Task.Priority, Long> counts = new EnumMap<>(Task.Priority.class);
+        for (Task.Priority priority : Task.Priority.values()) {
+            if (priorityCounts[priority.ordinal()] > 0) {
+                counts.put(priority, priorityCounts[priority.ordinal()]);
+            }
+        }
+        return counts;
+    }
+
+    private static final class Accumulator {
+        private final Set<Metric> metrics;
+        private final Map<Task.Status, List<Task>> groupedByStatus;
+        private final long[] priorityCounts;
+        private final Set<String> uniqueTags;
+        private final boolean tracksHours;
+        private final boolean tracksOverdue;
+        private final LocalDateTime now;
+        private List<Task> overdue;
+        private List<Task> notOverdue;
+        private long hourSum;
+        private int hourCount;
+        private boolean hasOverdue;
+
+        Accumulator(Set<Metric> metrics, LocalDateTime now) {
+            this.metrics = metrics;
+            this.now = now;
+            this.groupedByStatus = metrics.contains(Metric.GROUP_BY_STATUS)
+                ? new EnumMap<>(Task.Status.class) : null;
+            this.priorityCounts = metrics.contains(Metric.COUNT_BY_PRIORITY)
+                ? new long[Task.Priority.values().length] : null;
+            this.uniqueTags = metrics.contains(Metric.UNIQUE_TAGS) ? new HashSet<>() : null;
+            this.tracksHours = metrics.contains(Metric.TOTAL_HOURS) || metrics.contains(Metric.AVERAGE_HOURS);
+            this.tracksOverdue = metrics.contains(Metric.HAS_OVERDUE);
+            if (metrics.contains(Metric.PARTITION_BY_OVERDUE)) {
+                this.overdue = new ArrayList<>();
+                this.notOverdue = new ArrayList<>();
+            }
+        }
+
+        void add(Task task) {
+            if (groupedByStatus != null && task.status() != null) {
+                groupedByStatus.computeIfAbsent(task.status(), s -> new ArrayList<>()).add(task);
+            }
+            if (priorityCounts != null && task.priority() != null) {
+                priorityCounts[task.priority().ordinal()]++;
+            }
+            if (uniqueTags != null && task.tags() != null) {
+                uniqueTags.addAll(task.tags());
+            }
+            if (tracksHours && task.estimatedHours() != null) {
+                hourSum += task.estimatedHours();
+                hourCount++;
+            }
+            if (overdue != null) {
+                boolean isOverdue = task.isOverdue(now);
+                (isOverdue ? overdue : notOverdue).add(task);
+                hasOverdue |= isOverdue;
+            } else if (tracksOverdue && !hasOverdue) {
+                hasOverdue = task.isOverdue(now);
+            }
+        }
+
+        Accumulator merge(Accumulator other) {
+            if (groupedByStatus != null) {
+                other.groupedByStatus.forEach((status, group) ->
+                    groupedByStatus.computeIfAbsent(status, s -> new ArrayList<>()).addAll(group));
+            }
+            if (priorityCounts != null) {
+                for (int i = 0; i < priorityCounts.length; i++) {
+                    priorityCounts[i] += other.priorityCounts[i];
+                }
+            }
+            if (uniqueTags != null) {
+                uniqueTags.addAll(other.uniqueTags);
+            }
+            if (overdue != null) {
+                overdue.addAll(other.overdue);
+                notOverdue.addAll(other.notOverdue);
+            }
+            hourSum += other.hourSum;
+            hourCount += other.hourCount;
+            hasOverdue |= other.hasOverdue;
+            return this;
+        }
+
+        TaskSummary finish() {
+            return new TaskSummary(metrics, groupedByStatus,
+                priorityCounts == null ? null : countsOf(priorityCounts),
+                uniqueTags, hourSum, hourCount, hasOverdue,
+                overdue == null ? null : Map.of(true, overdue, false, notOverdue));
+        }
+    }
+}
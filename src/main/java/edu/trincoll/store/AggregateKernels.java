@@ -0,0 +1,50 @@
+package edu.trincoll.store;
+
+/**
+ * Reductions over {@link TaskStore} columns. The scalar implementation is always
+ * available; a Vector API implementation is picked up when the build was run with
+ * {@code -PvectorApi=true} and the JVM has {@code jdk.incubator.vector} loaded.
+ * Only column scans such as report jobs over a {@link TaskStore} use them;
+ * {@code TaskAnalyzer} keeps running totals and never scans.
+ */
+interface AggregateKernels {
+
+    /** Sum of {@code values[0..length)} widened to {@code long}. */
+    long sum(int[] values, int length);
+
+    /**
+     * Adds the number of occurrences of each ordinal in {@code column[0..length)}
+     * to {@code counts}; entries outside {@code [0, counts.length)} are ignored.
+     */
+    void countOrdinals(byte[] column, int length, int[] counts);
+
+    static AggregateKernels preferred() {
+        return Holder.PREFERRED;
+    }
+
+    static AggregateKernels scalar() {
+        return ScalarKernels.INSTANCE;
+    }
+
+    final class Holder {
+        private static final String VECTOR_KERNELS = "edu.trincoll.store.VectorKernels";
+        private static final AggregateKernels PREFERRED = load();
+
+        private Holder() {
+        }
+
+        private static AggregateKernels load() {
+            if (!Boolean.parseBoolean(System.getProperty("edu.trincoll.vector", "true"))
+                    || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+                return ScalarKernels.INSTANCE;
+            }
+            try {
+                return (AggregateKernels) Class.forName(VECTOR_KERNELS)
+                    .getDeclaredConstructor()
+                    .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return ScalarKernels.INSTANCE;
+            }
+        }
+    }
+}
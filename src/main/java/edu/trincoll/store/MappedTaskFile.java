@@ -0,0 +1,327 @@
+package edu.trincoll.store;
+
+import edu.trincoll.functional.PredicateNode;
+import edu.trincoll.index.PostingList;
+import edu.trincoll.model.Task;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+import static edu.trincoll.store.TaskFileFormat.*;
+
+/**
+ * Read-only, memory-mapped view of a file written by {@link TaskFileWriter}.
+ * Column reads go straight to the mapped pages, so the {@link TaskColumns}
+ * queries and {@link #select} never create {@code Task} objects for
+ * {@link PredicateNode} trees; {@link #task(int)} materializes a single row on
+ * demand. Instances are immutable and safe to share between
+ * threads. The mapping is released once the instance is unreachable.
+ */
+public final class MappedTaskFile implements TaskColumns {
+    private final int size;
+    private final int tagCount;
+    private final LongBuffer ids;
+    private final LongBuffer createdAt;
+    private final IntBuffer createdAtNanos;
+    private final LongBuffer dueDates;
+    private final IntBuffer dueDateNanos;
+    private final IntBuffer hours;
+    private final IntBuffer titles;
+    private final IntBuffer descriptions;
+    private final ByteBuffer priorities;
+    private final ByteBuffer statuses;
+    private final ByteBuffer flags;
+    private final IntBuffer tagOffsets;
+    private final IntBuffer tagIds;
+    private final IntBuffer stringOffsets;
+    private final ByteBuffer stringData;
+    private final Map<String, Integer> tagDictionary;
+
+    private MappedTaskFile(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < HEADER_BYTES + TRAILER_BYTES) {
+            throw new IOException("Not a task file");
+        }
+        ByteBuffer header = read(channel, 0, HEADER_BYTES);
+        ByteBuffer trailer = read(channel, fileSize - TRAILER_BYTES, TRAILER_BYTES);
+        if (header.getInt(0) != MAGIC || trailer.getInt(Integer.BYTES + Long.BYTES) != MAGIC) {
+            throw new IOException("Not a task file");
+        }
+        if (header.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Unsupported task file version " + header.getInt(Integer.BYTES));
+        }
+        size = header.getInt(2 * Integer.BYTES);
+        tagCount = header.getInt(3 * Integer.BYTES);
+
+        int sectionCount = trailer.getInt(0);
+        long footerOffset = trailer.getLong(Integer.BYTES);
+        if (sectionCount != Section.values().length) {
+            throw new IOException("Unexpected section count " + sectionCount);
+        }
+        ByteBuffer footer = read(channel, footerOffset, sectionCount * 2 * Long.BYTES);
+        ByteBuffer[] sections = new ByteBuffer[sectionCount];
+        for (int i = 0; i < sectionCount; i++) {
+            long offset = footer.getLong(i * 2 * Long.BYTES);
+            long length = footer.getLong(i * 2 * Long.BYTES + Long.BYTES);
+            sections[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, length).order(ORDER);
+        }
+        ids = sections[Section.IDS.ordinal()].asLongBuffer();
+        createdAt = sections[Section.CREATED_AT.ordinal()].asLongBuffer();
+        createdAtNanos = sections[Section.CREATED_AT_NANOS.ordinal()].asIntBuffer();
+        dueDates = sections[Section.DUE_DATES.ordinal()].asLongBuffer();
+        dueDateNanos = sections[Section.DUE_DATE_NANOS.ordinal()].asIntBuffer();
+        hours = sections[Section.HOURS.ordinal()].asIntBuffer();
+        titles = sections[Section.TITLES.ordinal()].asIntBuffer();
+        descriptions = sections[Section.DESCRIPTIONS.ordinal()].asIntBuffer();
+        priorities = sections[Section.PRIORITIES.ordinal()];
+        statuses = sections[Section.STATUSES.ordinal()];
+        flags = sections[Section.FLAGS.ordinal()];
+        tagOffsets = sections[Section.TAG_OFFSETS.ordinal()].asIntBuffer();
+        tagIds = sections[Section.TAG_IDS.ordinal()].asIntBuffer();
+        stringOffsets = sections[Section.STRING_OFFSETS.ordinal()].asIntBuffer();
+        stringData = sections[Section.STRING_DATA.ordinal()];
+
+        Map<String, Integer> dictionary = new HashMap<>();
+        for (int tag = 0; tag < tagCount; tag++) {
+            dictionary.put(string(tag), tag);
+        }
+        tagDictionary = Map.copyOf(dictionary);
+    }
+
+    public static MappedTaskFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new MappedTaskFile(channel);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean hasId(int row) {
+        return (flags.get(row) & ID_PRESENT) != 0;
+    }
+
+    @Override
+    public long id(int row) {
+        return ids.get(row);
+    }
+
+    @Override
+    public int priorityOrdinal(int row) {
+        return priorities.get(row);
+    }
+
+    @Override
+    public int statusOrdinal(int row) {
+        return statuses.get(row);
+    }
+
+    @Override
+    public boolean hasHours(int row) {
+        return (flags.get(row) & HOURS_PRESENT) != 0;
+    }
+
+    @Override
+    public int hours(int row) {
+        return hours.get(row);
+    }
+
+    @Override
+    public long createdAt(int row) {
+        return createdAt.get(row);
+    }
+
+    @Override
+    public int createdAtNano(int row) {
+        return createdAtNanos.get(row);
+    }
+
+    @Override
+    public long dueDate(int row) {
+        return dueDates.get(row);
+    }
+
+    @Override
+    public int dueDateNano(int row) {
+        return dueDateNanos.get(row);
+    }
+
+    public String title(int row) {
+        return string(titles.get(row));
+    }
+
+    /** Every distinct tag in the file. */
+    public Set<String> tags() {
+        return tagDictionary.keySet();
+    }
+
+    public Set<String> tags(int row) {
+        if ((flags.get(row) & TAGS_PRESENT) == 0) {
+            return null;
+        }
+        Set<String> tags = new HashSet<>();
+        for (int i = tagOffsets.get(row); i < tagOffsets.get(row + 1); i++) {
+            tags.add(string(tagIds.get(i)));
+        }
+        return tags;
+    }
+
+    /** Rows tagged with {@code tag}, found by scanning the tag ids without decoding strings. */
+    public PostingList rowsWithTag(String tag) {
+        PostingList rows = new PostingList();
+        Integer id = tagDictionary.get(tag);
+        if (id == null) {
+            return rows;
+        }
+        for (int row = 0; row < size; row++) {
+            if (hasTagId(row, id)) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Rows matching {@code predicate}. Trees of {@link PredicateNode}s are
+     * evaluated on the mapped columns; any other predicate is tested against a
+     * materialized {@code Task}.
+     */
+    public PostingList select(Predicate<? super Task> predicate, LocalDateTime now) {
+        IntPredicate compiled = compile(predicate, TaskStore.toEpochSecond(now), TaskStore.toNano(now));
+        PostingList rows = new PostingList();
+        for (int row = 0; row < size; row++) {
+            if (compiled.test(row)) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    public Task task(int row) {
+        return new Task(
+            hasId(row) ? id(row) : null,
+            title(row),
+            string(descriptions.get(row)),
+            priorityOrdinal(row) < 0 ? null : Task.Priority.values()[priorityOrdinal(row)],
+            statusOrdinal(row) < 0 ? null : Task.Status.values()[statusOrdinal(row)],
+            tags(row),
+            TaskStore.toLocalDateTime(createdAt(row), createdAtNano(row)),
+            TaskStore.toLocalDateTime(dueDate(row), dueDateNano(row)),
+            hasHours(row) ? hours(row) : null);
+    }
+
+    /** The tasks of {@code rows}, in ascending row order. */
+    public List<Task> tasks(PostingList rows) {
+        List<Task> result = new ArrayList<>(rows.cardinality());
+        rows.forEach(row -> result.add(task(row)));
+        return result;
+    }
+
+    /**
+     * A list view that materializes each task when it is read. A
+     * {@code TaskAnalyzer} built from it still loads and indexes every row; use
+     * {@link #select} and the {@link TaskColumns} queries to stay on the mapped
+     * data.
+     */
+    public List<Task> asList() {
+        return new View();
+    }
+
+    private boolean hasTagId(int row, int id) {
+        for (int i = tagOffsets.get(row); i < tagOffsets.get(row + 1); i++) {
+            if (tagIds.get(i) == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private IntPredicate compile(Predicate<? super Task> predicate, long nowSecond, int nowNano) {
+        if (predicate instanceof PredicateNode.ByStatus node) {
+            int ordinal = node.status() == null ? TaskStore.NO_ORDINAL : node.status().ordinal();
+            return row -> statusOrdinal(row) == ordinal;
+        }
+        if (predicate instanceof PredicateNode.ByPriority node) {
+            int ordinal = node.priority() == null ? TaskStore.NO_ORDINAL : node.priority().ordinal();
+            return row -> priorityOrdinal(row) == ordinal;
+        }
+        if (predicate instanceof PredicateNode.HasTag node) {
+            int tag = tagDictionary.getOrDefault(node.tag(), -1);
+            return tag < 0 ? row -> false : row -> hasTagId(row, tag);
+        }
+        if (predicate instanceof PredicateNode.IsActive) {
+            return row -> statusOrdinal(row) == Task.Status.TODO.ordinal()
+                || statusOrdinal(row) == Task.Status.IN_PROGRESS.ordinal();
+        }
+        if (predicate instanceof PredicateNode.IsOverdue) {
+            return row -> isOverdue(row, nowSecond, nowNano);
+        }
+        if (predicate instanceof PredicateNode.And node) {
+            IntPredicate left = compile(node.left(), nowSecond, nowNano);
+            IntPredicate right = compile(node.right(), nowSecond, nowNano);
+            return left.and(right);
+        }
+        if (predicate instanceof PredicateNode.Or node) {
+            IntPredicate left = compile(node.left(), nowSecond, nowNano);
+            IntPredicate right = compile(node.right(), nowSecond, nowNano);
+            return left.or(right);
+        }
+        if (predicate instanceof PredicateNode.Not node) {
+            return compile(node.operand(), nowSecond, nowNano).negate();
+        }
+        return row -> predicate.test(task(row));
+    }
+
+    private String string(int index) {
+        if (index == NO_STRING) {
+            return null;
+        }
+        int start = stringOffsets.get(index);
+        byte[] bytes = new byte[stringOffsets.get(index + 1) - start];
+        stringData.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ORDER);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated task file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private final class View extends AbstractList<Task> implements RandomAccess {
+        @Override
+        public Task get(int index) {
+            return task(Objects.checkIndex(index, size));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package edu.trincoll.store;
+
+import edu.trincoll.functional.PredicateNode;
+import edu.trincoll.functional.TaskPatch;
+import edu.trincoll.index.PostingList;
+import edu.trincoll.model.TagDictionary;
+import edu.trincoll.model.TagSet;
+import edu.trincoll.model.Task;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Task store that keeps every record outside the Java heap, in direct buffers.
+ * Each task is a fixed 64-byte record; titles, descriptions and tag lists live
+ * in an off-heap data area that records point into. Tags are held as ids from
+ * the shared {@link TagDictionary}. On the heap there is only one buffer
+ * object per chunk and one bit per tag id in use, so heap use does not grow
+ * with the number of tasks.
+ *
+ * <p>{@link TaskView} is a reusable flyweight over one record, and
+ * {@link #select} evaluates {@link PredicateNode} trees against the records
+ * without creating {@code Task} objects. Not thread-safe for writes; reads
+ * may run concurrently with one view per thread. Memory is returned when the
+ * store becomes unreachable.
+ */
+public final class OffHeapTaskStore implements TaskColumns {
+    static final int RECORD_BYTES = 64;
+    static final int ID = 0;
+    static final int CREATED_AT = 8;
+    static final int DUE_DATE = 16;
+    static final int TITLE = 24;
+    static final int DESCRIPTION = 32;
+    static final int TAGS = 40;
+    static final int HOURS = 48;
+    static final int PRIORITY = 52;
+    static final int STATUS = 53;
+    static final int FLAGS = 54;
+    static final int CREATED_AT_NANO = 56;
+    static final int DUE_DATE_NANO = 60;
+
+    static final byte ID_PRESENT = 1;
+    static final byte HOURS_PRESENT = 1 << 1;
+    static final long NO_DATA = -1L;
+
+    private static final int RECORDS_PER_CHUNK = 1 << 16;
+    private static final int DATA_CHUNK_BYTES = 1 << 22;
+
+    private final List<ByteBuffer> records = new ArrayList<>();
+    private final List<ByteBuffer> data = new ArrayList<>();
+    private final TagDictionary tagDictionary = TagDictionary.global();
+    private final BitSet usedTags = new BitSet();
+    private int size;
+
+    public static OffHeapTaskStore of(List<Task> tasks) {
+        OffHeapTaskStore store = new OffHeapTaskStore();
+        tasks.forEach(store::add);
+        return store;
+    }
+
+    public int add(Task task) {
+        if (size == records.size() * RECORDS_PER_CHUNK) {
+            records.add(allocate(RECORDS_PER_CHUNK * RECORD_BYTES));
+        }
+        int row = size;
+        ByteBuffer chunk = chunk(row);
+        int base = offset(row);
+        chunk.putLong(base + ID, task.id() == null ? 0L : task.id());
+        chunk.putLong(base + CREATED_AT, TaskStore.toEpochSecond(task.createdAt()));
+        chunk.putLong(base + DUE_DATE, TaskStore.toEpochSecond(task.dueDate()));
+        chunk.putInt(base + CREATED_AT_NANO, TaskStore.toNano(task.createdAt()));
+        chunk.putInt(base + DUE_DATE_NANO, TaskStore.toNano(task.dueDate()));
+        chunk.putLong(base + TITLE, putString(task.title()));
+        chunk.putLong(base + DESCRIPTION, putString(task.description()));
+        chunk.putLong(base + TAGS, putTags(task.tags()));
+        chunk.putInt(base + HOURS, task.estimatedHours() == null ? 0 : task.estimatedHours());
+        chunk.put(base + PRIORITY, TaskStore.ordinal(task.priority()));
+        chunk.put(base + STATUS, TaskStore.ordinal(task.status()));
+        chunk.put(base + FLAGS, (byte) ((task.id() != null ? ID_PRESENT : 0)
+            | (task.estimatedHours() != null ? HOURS_PRESENT : 0)));
+        size++;
+        return row;
+    }
+
+    /** Applies {@code patch} to every record in place; allocates nothing. */
+    public void apply(TaskPatch patch) {
+        for (int row = 0; row < size; row++) {
+            write(patch, row);
+        }
+    }
+
+    /** Applies {@code patch} to the given rows in place. */
+    public void apply(TaskPatch patch, PostingList rows) {
+        rows.forEach(row -> write(patch, Objects.checkIndex(row, size)));
+    }
+
+    private void write(TaskPatch patch, int row) {
+        ByteBuffer chunk = chunk(row);
+        int base = offset(row);
+        if (patch.setsStatus()) {
+            chunk.put(base + STATUS, TaskStore.ordinal(patch.status()));
+        }
+        if (patch.setsPriority()) {
+            chunk.put(base + PRIORITY, TaskStore.ordinal(patch.priority()));
+        }
+    }
+
+    /** A flyweight positioned at row 0; move it with {@link TaskView#moveTo}. */
+    public TaskView view() {
+        return new TaskView(this);
+    }
+
+    /** Every distinct tag in the store. */
+    public Set<String> tags() {
+        Set<String> tags = new HashSet<>();
+        usedTags.stream().forEach(id -> tags.add(tagDictionary.name(id)));
+        return Collections.unmodifiableSet(tags);
+    }
+
+    /**
+     * Rows matching {@code predicate}. Trees of {@link PredicateNode}s are
+     * evaluated on the records directly; any other predicate is tested against
+     * a materialized {@code Task}.
+     */
+    public PostingList select(Predicate<? super Task> predicate, LocalDateTime now) {
+        TaskView view = view();
+        IntPredicate compiled = compile(predicate, view, TaskStore.toEpochSecond(now), TaskStore.toNano(now));
+        PostingList rows = new PostingList();
+        for (int row = 0; row < size; row++) {
+            view.moveTo(row);
+            if (compiled.test(row)) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    public Task task(int row) {
+        return view().moveTo(row).toTask();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean hasId(int row) {
+        return (chunk(row).get(offset(row) + FLAGS) & ID_PRESENT) != 0;
+    }
+
+    @Override
+    public long id(int row) {
+        return chunk(row).getLong(offset(row) + ID);
+    }
+
+    @Override
+    public int priorityOrdinal(int row) {
+        return chunk(row).get(offset(row) + PRIORITY);
+    }
+
+    @Override
+    public int statusOrdinal(int row) {
+        return chunk(row).get(offset(row) + STATUS);
+    }
+
+    @Override
+    public boolean hasHours(int row) {
+        return (chunk(row).get(offset(row) + FLAGS) & HOURS_PRESENT) != 0;
+    }
+
+    @Override
+    public int hours(int row) {
+        return chunk(row).getInt(offset(row) + HOURS);
+    }
+
+    @Override
+    public long createdAt(int row) {
+        return chunk(row).getLong(offset(row) + CREATED_AT);
+    }
+
+    @Override
+    public int createdAtNano(int row) {
+        return chunk(row).getInt(offset(row) + CREATED_AT_NANO);
+    }
+
+    @Override
+    public long dueDate(int row) {
+        return chunk(row).getLong(offset(row) + DUE_DATE);
+    }
+
+    @Override
+    public int dueDateNano(int row) {
+        return chunk(row).getInt(offset(row) + DUE_DATE_NANO);
+    }
+
+    ByteBuffer chunk(int row) {
+        return records.get(row >>> 16);
+    }
+
+    static int offset(int row) {
+        return (row & (RECORDS_PER_CHUNK - 1)) * RECORD_BYTES;
+    }
+
+    int tagId(String tag) {
+        return tagDictionary.idOf(tag);
+    }
+
+    String tagName(int id) {
+        return tagDictionary.name(id);
+    }
+
+    // Data references pack the chunk index into the high 32 bits and the offset
+    // into the low 32 bits.
+    ByteBuffer dataChunk(long reference) {
+        return data.get((int) (reference >>> 32));
+    }
+
+    static int dataOffset(long reference) {
+        return (int) reference;
+    }
+
+    String string(long reference) {
+        if (reference == NO_DATA) {
+            return null;
+        }
+        ByteBuffer chunk = dataChunk(reference);
+        int offset = dataOffset(reference);
+        byte[] bytes = new byte[chunk.getInt(offset)];
+        chunk.get(offset + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long putString(String value) {
+        if (value == null) {
+            return NO_DATA;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long reference = reserve(Integer.BYTES + bytes.length);
+        ByteBuffer chunk = dataChunk(reference);
+        int offset = dataOffset(reference);
+        chunk.putInt(offset, bytes.length);
+        chunk.put(offset + Integer.BYTES, bytes);
+        return reference;
+    }
+
+    private long putTags(Set<String> tags) {
+        if (tags == null) {
+            return NO_DATA;
+        }
+        // Tasks already hold their tags as a TagSet, so this only copies ids.
+        TagSet tagSet = TagSet.copyOf(tags);
+        long reference = reserve(Integer.BYTES * (1 + tagSet.size()));
+        ByteBuffer chunk = dataChunk(reference);
+        int offset = dataOffset(reference);
+        chunk.putInt(offset, tagSet.size());
+        int[] next = {offset + Integer.BYTES};
+        tagSet.forEachId(id -> {
+            chunk.putInt(next[0], id);
+            next[0] += Integer.BYTES;
+            usedTags.set(id);
+        });
+        return reference;
+    }
+
+    // Entries never straddle chunks; an entry larger than a chunk gets its own.
+    private long reserve(int bytes) {
+        ByteBuffer last = data.isEmpty() ? null : data.get(data.size() - 1);
+        if (last == null || last.remaining() < bytes) {
+            last = allocate(Math.max(DATA_CHUNK_BYTES, bytes));
+            data.add(last);
+        }
+        int offset = last.position();
+        last.position(offset + bytes);
+        return ((long) (data.size() - 1) << 32) | offset;
+    }
+
+    private static ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private IntPredicate compile(Predicate<? super Task> predicate, TaskView view, long nowSecond, int nowNano) {
+        if (predicate instanceof PredicateNode.ByStatus node) {
+            int ordinal = node.status() == null ? TaskStore.NO_ORDINAL : node.status().ordinal();
+            return row -> statusOrdinal(row) == ordinal;
+        }
+        if (predicate instanceof PredicateNode.ByPriority node) {
+            int ordinal = node.priority() == null ? TaskStore.NO_ORDINAL : node.priority().ordinal();
+            return row -> priorityOrdinal(row) == ordinal;
+        }
+        if (predicate instanceof PredicateNode.HasTag node) {
+            int tag = node.tagId();
+            return tag < 0 ? row -> false : row -> view.hasTagId(tag);
+        }
+        if (predicate instanceof PredicateNode.IsActive) {
+            return row -> view.isActive();
+        }
+        if (predicate instanceof PredicateNode.IsOverdue) {
+            return row -> view.isOverdue(nowSecond, nowNano);
+        }
+        if (predicate instanceof PredicateNode.And node) {
+            IntPredicate left = compile(node.left(), view, nowSecond, nowNano);
+            IntPredicate right = compile(node.right(), view, nowSecond, nowNano);
+            return left.and(right);
+        }
+        if (predicate instanceof PredicateNode.Or node) {
+            IntPredicate left = compile(node.left(), view, nowSecond, nowNano);
+            IntPredicate right = compile(node.right(), view, nowSecond, nowNano);
+            return left.or(right);
+        }
+        if (predicate instanceof PredicateNode.Not node) {
+            return compile(node.operand(), view, nowSecond, nowNano).negate();
+        }
+        return row -> predicate.test(view.toTask());
+    }
+}
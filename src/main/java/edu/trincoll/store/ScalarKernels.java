@@ -0,0 +1,27 @@
+package edu.trincoll.store;
+
+final class ScalarKernels implements AggregateKernels {
+    static final ScalarKernels INSTANCE = new ScalarKernels();
+
+    private ScalarKernels() {
+    }
+
+    @Override
+    public long sum(int[] values, int length) {
+        long sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public void countOrdinals(byte[] column, int length, int[] counts) {
+        for (int i = 0; i < length; i++) {
+            int ordinal = column[i];
+            if (ordinal >= 0 && ordinal < counts.length) {
+                counts[ordinal]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package edu.trincoll.store;
+
+import edu.trincoll.index.PostingList;
+import edu.trincoll.model.Task;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only columnar view of the scalar {@link Task} fields, encoded as in
+ * {@link TaskStore}: ordinals with {@link TaskStore#NO_ORDINAL} for {@code null}
+ * and UTC epoch seconds with {@link TaskStore#NO_DATE} plus nano-of-second
+ * columns. The queries below only
+ * read columns, so they run without materializing any {@code Task}.
+ */
+public interface TaskColumns {
+
+    int size();
+
+    boolean hasId(int row);
+
+    long id(int row);
+
+    int priorityOrdinal(int row);
+
+    int statusOrdinal(int row);
+
+    boolean hasHours(int row);
+
+    int hours(int row);
+
+    long createdAt(int row);
+
+    int createdAtNano(int row);
+
+    long dueDate(int row);
+
+    int dueDateNano(int row);
+
+    /** Whether {@link Task#isOverdue(LocalDateTime)} would accept the row at the given instant. */
+    default boolean isOverdue(int row, long nowSecond, int nowNano) {
+        long due = dueDate(row);
+        int status = statusOrdinal(row);
+        return due != TaskStore.NO_DATE
+            && (due < nowSecond || due == nowSecond && dueDateNano(row) < nowNano)
+            && status != Task.Status.DONE.ordinal()
+            && status != Task.Status.CANCELLED.ordinal();
+    }
+
+    /** Sum of the non-null estimated hours. */
+    default long sumHours() {
+        long sum = 0;
+        for (int row = 0; row < size(); row++) {
+            sum += hours(row);
+        }
+        return sum;
+    }
+
+    /** Number of tasks with non-null estimated hours. */
+    default int countHours() {
+        int count = 0;
+        for (int row = 0; row < size(); row++) {
+            if (hasHours(row)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** Task counts indexed by {@link Task.Priority#ordinal()}. */
+    default int[] countByPriority() {
+        int[] counts = new int[Task.Priority.values().length];
+        for (int row = 0; row < size(); row++) {
+            int ordinal = priorityOrdinal(row);
+            if (ordinal >= 0) {
+                counts[ordinal]++;
+            }
+        }
+        return counts;
+    }
+
+    /** Task counts indexed by {@link Task.Status#ordinal()}. */
+    default int[] countByStatus() {
+        int[] counts = new int[Task.Status.values().length];
+        for (int row = 0; row < size(); row++) {
+            int ordinal = statusOrdinal(row);
+            if (ordinal >= 0) {
+                counts[ordinal]++;
+            }
+        }
+        return counts;
+    }
+
+    default PostingList rowsWithStatus(Task.Status status) {
+        PostingList rows = new PostingList();
+        for (int row = 0; row < size(); row++) {
+            if (statusOrdinal(row) == status.ordinal()) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    default PostingList rowsWithPriority(Task.Priority priority) {
+        PostingList rows = new PostingList();
+        for (int row = 0; row < size(); row++) {
+            if (priorityOrdinal(row) == priority.ordinal()) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /** Rows that {@link Task#isOverdue(LocalDateTime)} would accept. */
+    default PostingList rowsOverdue(LocalDateTime now) {
+        long nowSecond = TaskStore.toEpochSecond(now);
+        int nowNano = now.getNano();
+        PostingList rows = new PostingList();
+        for (int row = 0; row < size(); row++) {
+            if (isOverdue(row, nowSecond, nowNano)) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
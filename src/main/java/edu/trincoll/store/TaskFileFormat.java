@@ -0,0 +1,53 @@
+package edu.trincoll.store;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of a task file, shared by {@link TaskFileWriter} and {@link MappedTaskFile}.
+ *
+ * <pre>
+ * header   magic:int version:int rows:int tags:int
+ * sections one per {@link Section}, each starting on an 8-byte boundary
+ * footer   (offset:long length:long) per section, sectionCount:int, footerOffset:long, magic:int
+ * </pre>
+ *
+ * All values are little-endian. Strings (titles, descriptions and tags) are
+ * stored once in a pool of UTF-8 strings and referenced by index, with
+ * {@link #NO_STRING} for {@code null}. The first {@code tags} strings of the
+ * pool are the distinct tags, and a row's tags are the pool indexes in
+ * {@code TAG_IDS[TAG_OFFSETS[row] .. TAG_OFFSETS[row + 1])}. Dates are UTC epoch
+ * seconds with a separate nano-of-second section, as in {@link TaskStore}.
+ */
+final class TaskFileFormat {
+    static final int MAGIC = 0x5453_4B31; // "TSK1"
+    static final int VERSION = 2;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    static final int HEADER_BYTES = 16;
+    static final int TRAILER_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    static final int NO_STRING = -1;
+
+    static final byte ID_PRESENT = 1;
+    static final byte HOURS_PRESENT = 1 << 1;
+    static final byte TAGS_PRESENT = 1 << 2;
+
+    enum Section {
+        IDS,
+        CREATED_AT,
+        CREATED_AT_NANOS,
+        DUE_DATES,
+        DUE_DATE_NANOS,
+        HOURS,
+        TITLES,
+        DESCRIPTIONS,
+        PRIORITIES,
+        STATUSES,
+        FLAGS,
+        TAG_OFFSETS,
+        TAG_IDS,
+        STRING_OFFSETS,
+        STRING_DATA
+    }
+
+    private TaskFileFormat() {
+    }
+}
@@ -0,0 +1,180 @@
+package edu.trincoll.store;
+
+import edu.trincoll.model.Task;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static edu.trincoll.store.TaskFileFormat.*;
+
+/** Writes tasks in the {@link TaskFileFormat} layout for {@link MappedTaskFile}. */
+public final class TaskFileWriter {
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final List<Task> tasks;
+    private final Map<String, Integer> stringIndexes = new HashMap<>();
+    private final List<byte[]> strings = new ArrayList<>();
+    private final long[][] footer = new long[Section.values().length][];
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ORDER);
+    private long position;
+
+    private TaskFileWriter(List<Task> tasks, FileChannel channel) {
+        this.tasks = tasks;
+        this.channel = channel;
+    }
+
+    public static void write(Path path, List<Task> tasks) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            new TaskFileWriter(tasks, channel).writeAll();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeAll() {
+        // Tags go into the pool first so that indexes [0, tagCount) form the tag dictionary.
+        for (Task task : tasks) {
+            if (task.tags() != null) {
+                task.tags().forEach(this::intern);
+            }
+        }
+        int tagCount = strings.size();
+
+        putInt(MAGIC);
+        putInt(VERSION);
+        putInt(tasks.size());
+        putInt(tagCount);
+
+        section(Section.IDS, () -> tasks.forEach(task -> putLong(task.id() == null ? 0L : task.id())));
+        section(Section.CREATED_AT, () -> tasks.forEach(task -> putLong(TaskStore.toEpochSecond(task.createdAt()))));
+        section(Section.CREATED_AT_NANOS, () -> tasks.forEach(task -> putInt(TaskStore.toNano(task.createdAt()))));
+        section(Section.DUE_DATES, () -> tasks.forEach(task -> putLong(TaskStore.toEpochSecond(task.dueDate()))));
+        section(Section.DUE_DATE_NANOS, () -> tasks.forEach(task -> putInt(TaskStore.toNano(task.dueDate()))));
+        section(Section.HOURS, () -> tasks.forEach(task ->
+            putInt(task.estimatedHours() == null ? 0 : task.estimatedHours())));
+        section(Section.TITLES, () -> tasks.forEach(task -> putInt(intern(task.title()))));
+        section(Section.DESCRIPTIONS, () -> tasks.forEach(task -> putInt(intern(task.description()))));
+        section(Section.PRIORITIES, () -> tasks.forEach(task ->
+            putByte(task.priority() == null ? TaskStore.NO_ORDINAL : (byte) task.priority().ordinal())));
+        section(Section.STATUSES, () -> tasks.forEach(task ->
+            putByte(task.status() == null ? TaskStore.NO_ORDINAL : (byte) task.status().ordinal())));
+        section(Section.FLAGS, () -> tasks.forEach(task -> putByte((byte) (
+            (task.id() != null ? ID_PRESENT : 0)
+                | (task.estimatedHours() != null ? HOURS_PRESENT : 0)
+                | (task.tags() != null ? TAGS_PRESENT : 0)))));
+        section(Section.TAG_OFFSETS, () -> {
+            int offset = 0;
+            putInt(offset);
+            for (Task task : tasks) {
+                offset += task.tags() == null ? 0 : task.tags().size();
+                putInt(offset);
+            }
+        });
+        section(Section.TAG_IDS, () -> tasks.forEach(task -> {
+            if (task.tags() != null) {
+                task.tags().forEach(tag -> putInt(stringIndexes.get(tag)));
+            }
+        }));
+        section(Section.STRING_OFFSETS, () -> {
+            int offset = 0;
+            putInt(offset);
+            for (byte[] string : strings) {
+                offset = Math.addExact(offset, string.length);
+                putInt(offset);
+            }
+        });
+        section(Section.STRING_DATA, () -> strings.forEach(this::putBytes));
+
+        align();
+        long footerOffset = position;
+        for (long[] entry : footer) {
+            putLong(entry[0]);
+            putLong(entry[1]);
+        }
+        putInt(footer.length);
+        putLong(footerOffset);
+        putInt(MAGIC);
+        flush();
+    }
+
+    private int intern(String value) {
+        if (value == null) {
+            return NO_STRING;
+        }
+        return stringIndexes.computeIfAbsent(value, v -> {
+            strings.add(v.getBytes(StandardCharsets.UTF_8));
+            return strings.size() - 1;
+        });
+    }
+
+    private void section(Section section, Runnable body) {
+        align();
+        long start = position;
+        body.run();
+        footer[section.ordinal()] = new long[] {start, position - start};
+    }
+
+    private void align() {
+        while ((position & 7) != 0) {
+            putByte((byte) 0);
+        }
+    }
+
+    private void putLong(long value) {
+        ensure(Long.BYTES);
+        buffer.putLong(value);
+        position += Long.BYTES;
+    }
+
+    private void putInt(int value) {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+        position += Integer.BYTES;
+    }
+
+    private void putByte(byte value) {
+        ensure(1);
+        buffer.put(value);
+        position++;
+    }
+
+    private void putBytes(byte[] bytes) {
+        for (int offset = 0; offset < bytes.length; ) {
+            ensure(1);
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+            position += length;
+        }
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    // Section bodies are lambdas, so I/O failures travel as UncheckedIOException.
+    private void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+}
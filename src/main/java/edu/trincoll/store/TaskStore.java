@@ -0,0 +1,262 @@
+package edu.trincoll.store;
+
+import edu.trincoll.functional.TaskPatch;
+import edu.trincoll.index.PostingList;
+import edu.trincoll.model.Task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Struct-of-arrays copy of the scalar {@link Task} fields, laid out so that
+ * aggregate queries run as primitive loops without unboxing or chasing record
+ * references. It is meant for batch reports over many tasks;
+ * {@code TaskAnalyzer} does not read it, because its running totals and index
+ * postings already answer the same aggregates without a scan.
+ *
+ * <p>Enum fields are stored as ordinals with {@code -1} for {@code null}. Dates
+ * are stored as seconds since the epoch, reading the {@code LocalDateTime} as
+ * UTC, with {@link #NO_DATE} for {@code null}, plus a nano-of-second column.
+ */
+public final class TaskStore implements TaskColumns {
+    public static final byte NO_ORDINAL = -1;
+    public static final long NO_DATE = Long.MIN_VALUE;
+
+    private final AggregateKernels kernels = AggregateKernels.preferred();
+
+    private int size;
+    private long[] ids;
+    private long[] idPresent;
+    private byte[] priorities;
+    private byte[] statuses;
+    private int[] hours;
+    private long[] hoursPresent;
+    private long[] createdAt;
+    private int[] createdAtNanos;
+    private long[] dueDates;
+    private int[] dueDateNanos;
+
+    public TaskStore() {
+        this(16);
+    }
+
+    public TaskStore(int capacity) {
+        int initial = Math.max(1, capacity);
+        ids = new long[initial];
+        idPresent = new long[words(initial)];
+        priorities = new byte[initial];
+        statuses = new byte[initial];
+        hours = new int[initial];
+        hoursPresent = new long[words(initial)];
+        createdAt = new long[initial];
+        createdAtNanos = new int[initial];
+        dueDates = new long[initial];
+        dueDateNanos = new int[initial];
+    }
+
+    public static TaskStore of(List<Task> tasks) {
+        TaskStore store = new TaskStore(tasks.size());
+        tasks.forEach(store::add);
+        return store;
+    }
+
+    public int add(Task task) {
+        if (size == ids.length) {
+            grow(size * 2);
+        }
+        write(size, task);
+        return size++;
+    }
+
+    public void set(int row, Task task) {
+        write(Objects.checkIndex(row, size), task);
+    }
+
+    /** Applies {@code patch} to every row by filling the patched columns; allocates nothing. */
+    public void apply(TaskPatch patch) {
+        if (patch.setsStatus()) {
+            Arrays.fill(statuses, 0, size, ordinal(patch.status()));
+        }
+        if (patch.setsPriority()) {
+            Arrays.fill(priorities, 0, size, ordinal(patch.priority()));
+        }
+    }
+
+    /** Applies {@code patch} to the given rows in place. */
+    public void apply(TaskPatch patch, PostingList rows) {
+        byte status = ordinal(patch.status());
+        byte priority = ordinal(patch.priority());
+        rows.forEach(row -> {
+            Objects.checkIndex(row, size);
+            if (patch.setsStatus()) {
+                statuses[row] = status;
+            }
+            if (patch.setsPriority()) {
+                priorities[row] = priority;
+            }
+        });
+    }
+
+    private void write(int row, Task task) {
+        ids[row] = task.id() == null ? 0L : task.id();
+        setBit(idPresent, row, task.id() != null);
+        priorities[row] = ordinal(task.priority());
+        statuses[row] = ordinal(task.status());
+        hours[row] = task.estimatedHours() == null ? 0 : task.estimatedHours();
+        setBit(hoursPresent, row, task.estimatedHours() != null);
+        createdAt[row] = toEpochSecond(task.createdAt());
+        createdAtNanos[row] = toNano(task.createdAt());
+        dueDates[row] = toEpochSecond(task.dueDate());
+        dueDateNanos[row] = toNano(task.dueDate());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean hasId(int row) {
+        return getBit(idPresent, row);
+    }
+
+    @Override
+    public long id(int row) {
+        return ids[row];
+    }
+
+    @Override
+    public int priorityOrdinal(int row) {
+        return priorities[row];
+    }
+
+    @Override
+    public int statusOrdinal(int row) {
+        return statuses[row];
+    }
+
+    @Override
+    public boolean hasHours(int row) {
+        return getBit(hoursPresent, row);
+    }
+
+    @Override
+    public int hours(int row) {
+        return hours[row];
+    }
+
+    @Override
+    public long createdAt(int row) {
+        return createdAt[row];
+    }
+
+    @Override
+    public int createdAtNano(int row) {
+        return createdAtNanos[row];
+    }
+
+    @Override
+    public long dueDate(int row) {
+        return dueDates[row];
+    }
+
+    @Override
+    public int dueDateNano(int row) {
+        return dueDateNanos[row];
+    }
+
+    /** Sum of the non-null estimated hours. */
+    @Override
+    public long sumHours() {
+        // Null hours are stored as 0, so they can be summed unconditionally.
+        return kernels.sum(hours, size);
+    }
+
+    /** Number of tasks with non-null estimated hours. */
+    @Override
+    public int countHours() {
+        int count = 0;
+        int fullWords = size >>> 6;
+        for (int word = 0; word < fullWords; word++) {
+            count += Long.bitCount(hoursPresent[word]);
+        }
+        if ((size & 63) != 0) {
+            count += Long.bitCount(hoursPresent[fullWords] & ((1L << size) - 1));
+        }
+        return count;
+    }
+
+    /** Sum of {@link Task.Priority#getWeight()} over tasks with a priority. */
+    public long sumPriorityWeights() {
+        int[] counts = countByPriority();
+        long sum = 0;
+        for (Task.Priority priority : Task.Priority.values()) {
+            sum += (long) counts[priority.ordinal()] * priority.getWeight();
+        }
+        return sum;
+    }
+
+    /** Task counts indexed by {@link Task.Priority#ordinal()}. */
+    @Override
+    public int[] countByPriority() {
+        int[] counts = new int[Task.Priority.values().length];
+        kernels.countOrdinals(priorities, size, counts);
+        return counts;
+    }
+
+    /** Task counts indexed by {@link Task.Status#ordinal()}. */
+    @Override
+    public int[] countByStatus() {
+        int[] counts = new int[Task.Status.values().length];
+        kernels.countOrdinals(statuses, size, counts);
+        return counts;
+    }
+
+    static byte ordinal(Enum<?> value) {
+        return value == null ? NO_ORDINAL : (byte) value.ordinal();
+    }
+
+    public static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime == null ? NO_DATE : dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    public static int toNano(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.getNano();
+    }
+
+    public static LocalDateTime toLocalDateTime(long epochSecond, int nano) {
+        return epochSecond == NO_DATE ? null : LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        idPresent = Arrays.copyOf(idPresent, words(capacity));
+        priorities = Arrays.copyOf(priorities, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        hours = Arrays.copyOf(hours, capacity);
+        hoursPresent = Arrays.copyOf(hoursPresent, words(capacity));
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        createdAtNanos = Arrays.copyOf(createdAtNanos, capacity);
+        dueDates = Arrays.copyOf(dueDates, capacity);
+        dueDateNanos = Arrays.copyOf(dueDateNanos, capacity);
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    private static boolean getBit(long[] bits, int row) {
+        return (bits[row >>> 6] & (1L << row)) != 0;
+    }
+
+    private static void setBit(long[] bits, int row, boolean value) {
+        if (value) {
+            bits[row >>> 6] |= 1L << row;
+        } else {
+            bits[row >>> 6] &= ~(1L << row);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package edu.trincoll.store;
+
+import edu.trincoll.model.Task;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static edu.trincoll.store.OffHeapTaskStore.*;
+
+/**
+ * Flyweight over one {@link OffHeapTaskStore} record. Moving the view to
+ * another row costs nothing, and the scalar accessors read the record in place
+ * without allocating. Dates are whole UTC epoch seconds, as in {@link TaskStore}.
+ */
+public final class TaskView {
+    private static final Task.Priority[] PRIORITIES = Task.Priority.values();
+    private static final Task.Status[] STATUSES = Task.Status.values();
+
+    private final OffHeapTaskStore store;
+    private ByteBuffer chunk;
+    private int base;
+    private int row;
+
+    TaskView(OffHeapTaskStore store) {
+        this.store = store;
+        if (store.size() > 0) {
+            moveTo(0);
+        }
+    }
+
+    public TaskView moveTo(int row) {
+        if (row < 0 || row >= store.size()) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for length " + store.size());
+        }
+        this.row = row;
+        this.chunk = store.chunk(row);
+        this.base = OffHeapTaskStore.offset(row);
+        return this;
+    }
+
+    public int row() {
+        return row;
+    }
+
+    public boolean hasId() {
+        return (chunk.get(base + FLAGS) & ID_PRESENT) != 0;
+    }
+
+    public long id() {
+        return chunk.getLong(base + ID);
+    }
+
+    public Task.Priority priority() {
+        byte ordinal = chunk.get(base + PRIORITY);
+        return ordinal < 0 ? null : PRIORITIES[ordinal];
+    }
+
+    public Task.Status status() {
+        byte ordinal = chunk.get(base + STATUS);
+        return ordinal < 0 ? null : STATUSES[ordinal];
+    }
+
+    public boolean hasHours() {
+        return (chunk.get(base + FLAGS) & HOURS_PRESENT) != 0;
+    }
+
+    public int hours() {
+        return chunk.getInt(base + HOURS);
+    }
+
+    public long createdAtEpochSecond() {
+        return chunk.getLong(base + CREATED_AT);
+    }
+
+    public int createdAtNano() {
+        return chunk.getInt(base + CREATED_AT_NANO);
+    }
+
+    public long dueDateEpochSecond() {
+        return chunk.getLong(base + DUE_DATE);
+    }
+
+    public int dueDateNano() {
+        return chunk.getInt(base + DUE_DATE_NANO);
+    }
+
+    public boolean isActive() {
+        byte status = chunk.get(base + STATUS);
+        return status == Task.Status.TODO.ordinal() || status == Task.Status.IN_PROGRESS.ordinal();
+    }
+
+    /** As {@link Task#isOverdue(LocalDateTime)}, with {@code now} split into epoch seconds and nanos. */
+    public boolean isOverdue(long nowEpochSecond, int nowNano) {
+        long due = dueDateEpochSecond();
+        byte status = chunk.get(base + STATUS);
+        return due != TaskStore.NO_DATE
+            && (due < nowEpochSecond || due == nowEpochSecond && dueDateNano() < nowNano)
+            && status != Task.Status.DONE.ordinal()
+            && status != Task.Status.CANCELLED.ordinal();
+    }
+
+    public boolean hasTag(String tag) {
+        int id = store.tagId(tag);
+        return id >= 0 && hasTagId(id);
+    }
+
+    boolean hasTagId(int id) {
+        long reference = chunk.getLong(base + TAGS);
+        if (reference == NO_DATA) {
+            return false;
+        }
+        ByteBuffer data = store.dataChunk(reference);
+        int offset = OffHeapTaskStore.dataOffset(reference);
+        int count = data.getInt(offset);
+        for (int i = 1; i <= count; i++) {
+            if (data.getInt(offset + i * Integer.BYTES) == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String title() {
+        return store.string(chunk.getLong(base + TITLE));
+    }
+
+    public String description() {
+        return store.string(chunk.getLong(base + DESCRIPTION));
+    }
+
+    public Set<String> tags() {
+        long reference = chunk.getLong(base + TAGS);
+        if (reference == NO_DATA) {
+            return null;
+        }
+        ByteBuffer data = store.dataChunk(reference);
+        int offset = OffHeapTaskStore.dataOffset(reference);
+        int count = data.getInt(offset);
+        Set<String> tags = new HashSet<>();
+        for (int i = 1; i <= count; i++) {
+            tags.add(store.tagName(data.getInt(offset + i * Integer.BYTES)));
+        }
+        return tags;
+    }
+
+    /** Copies the current record onto the heap. */
+    public Task toTask() {
+        return new Task(
+            hasId() ? id() : null,
+            title(),
+            description(),
+            priority(),
+            status(),
+            tags(),
+            TaskStore.toLocalDateTime(createdAtEpochSecond(), createdAtNano()),
+            TaskStore.toLocalDateTime(dueDateEpochSecond(), dueDateNano()),
+            hasHours() ? hours() : null);
+    }
+}
@@ -0,0 +1,83 @@
+package edu.trincoll.collection;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PersistentVectorTest {
+
+    private static List<Integer> range(int size) {
+        return IntStream.range(0, size).boxed().toList();
+    }
+
+    @Nested
+    @DisplayName("Construction")
+    class ConstructionTests {
+
+        @Test
+        @DisplayName("Should match the source list across trie level boundaries")
+        void shouldCopyLists() {
+            for (int size : new int[] {0, 1, 32, 33, 1024, 1056, 1057, 40_000}) {
+                List<Integer> source = range(size);
+
+                assertThat(PersistentVector.copyOf(source)).isEqualTo(source);
+            }
+        }
+
+        @Test
+        @DisplayName("Should build the same vector by appending")
+        void shouldAppend() {
+            PersistentVector<Integer> vector = PersistentVector.empty();
+            for (int i = 0; i < 5_000; i++) {
+                vector = vector.append(i);
+            }
+
+            assertThat(vector).isEqualTo(range(5_000));
+            assertThat(PersistentVector.copyOf(range(2_000)).append(2_000)).isEqualTo(range(2_001));
+        }
+
+        @Test
+        @DisplayName("Should reject mutation through the List interface")
+        void shouldBeImmutable() {
+            PersistentVector<Integer> vector = PersistentVector.copyOf(range(3));
+
+            assertThatThrownBy(() -> vector.add(3)).isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(() -> vector.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Versions")
+    class VersionTests {
+
+        @Test
+        @DisplayName("Should leave earlier versions untouched")
+        void shouldKeepOldVersions() {
+            PersistentVector<Integer> original = PersistentVector.copyOf(range(3_000));
+
+            PersistentVector<Integer> updated = original.with(5, -5).with(2_999, -1).append(3_000);
+
+            assertThat(original).isEqualTo(range(3_000));
+            assertThat(updated.get(5)).isEqualTo(-5);
+            assertThat(updated.get(2_999)).isEqualTo(-1);
+            assertThat(updated).hasSize(3_001);
+        }
+
+        @Test
+        @DisplayName("Should return the same vector when nothing changes")
+        void shouldShareUnchangedVersions() {
+            PersistentVector<Integer> vector = PersistentVector.copyOf(range(3_000));
+
+            assertThat(vector.with(10, vector.get(10))).isSameAs(vector);
+            assertThat(vector.map(value -> value)).isSameAs(vector);
+            assertThat(vector.map(value -> value == 7 ? -7 : value))
+                .containsSequence(6, -7, 8)
+                .hasSize(3_000);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package edu.trincoll.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PostingListTest {
+
+    private static BitSet randomBits(Random random, int size, double density) {
+        BitSet bits = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (random.nextDouble() < density) {
+                bits.set(i);
+            }
+        }
+        return bits;
+    }
+
+    private static PostingList toPostingList(BitSet bits) {
+        PostingList list = new PostingList();
+        bits.stream().forEach(list::add);
+        return list;
+    }
+
+    @Nested
+    @DisplayName("Membership")
+    class MembershipTests {
+
+        @Test
+        @DisplayName("Should add, find and remove ordinals")
+        void addContainsRemove() {
+            PostingList list = PostingList.of(5, 70_000, 3);
+
+            assertThat(list.toArray()).containsExactly(3, 5, 70_000);
+            assertThat(list.contains(70_000)).isTrue();
+            assertThat(list.add(5)).isFalse();
+
+            assertThat(list.remove(70_000)).isTrue();
+            assertThat(list.remove(70_000)).isFalse();
+            assertThat(list.cardinality()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should switch between sparse and dense chunks transparently")
+        void denseChunks() {
+            PostingList list = PostingList.range(0, 10_000);
+
+            assertThat(list.cardinality()).isEqualTo(10_000);
+            for (int i = 0; i < 6_000; i++) {
+                list.remove(i);
+            }
+
+            assertThat(list.cardinality()).isEqualTo(4_000);
+            assertThat(list.stream().min()).hasValue(6_000);
+        }
+
+        @Test
+        @DisplayName("Should reject negative ordinals")
+        void negativeOrdinal() {
+            assertThatThrownBy(() -> new PostingList().add(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Set Operations")
+    class SetOperationTests {
+
+        @Test
+        @DisplayName("Should match BitSet semantics for and, or and andNot")
+        void matchesBitSet() {
+            Random random = new Random(42);
+            for (double density : new double[] {0.001, 0.05, 0.5}) {
+                BitSet left = randomBits(random, 200_000, density);
+                BitSet right = randomBits(random, 200_000, 0.1);
+                PostingList a = toPostingList(left);
+                PostingList b = toPostingList(right);
+
+                BitSet and = (BitSet) left.clone();
+                and.and(right);
+                BitSet or = (BitSet) left.clone();
+                or.or(right);
+                BitSet andNot = (BitSet) left.clone();
+                andNot.andNot(right);
+
+                assertThat(a.and(b).toArray()).isEqualTo(and.stream().toArray());
+                assertThat(a.or(b).toArray()).isEqualTo(or.stream().toArray());
+                assertThat(a.andNot(b).toArray()).isEqualTo(andNot.stream().toArray());
+            }
+        }
+
+        @Test
+        @DisplayName("Should leave operands unchanged")
+        void operandsUnchanged() {
+            PostingList a = PostingList.of(1, 2, 3);
+            PostingList b = PostingList.of(3, 4);
+
+            a.and(b);
+            a.or(b);
+            a.andNot(b);
+
+            assertThat(a).isEqualTo(PostingList.of(1, 2, 3));
+            assertThat(b).isEqualTo(PostingList.of(3, 4));
+        }
+
+        @Test
+        @DisplayName("Should union many lists like a fold of or")
+        void unionOfMany() {
+            Random random = new Random(7);
+            List<PostingList> lists = new ArrayList<>();
+            BitSet expected = new BitSet();
+            for (int i = 0; i < 200; i++) {
+                BitSet bits = randomBits(random, 150_000, i % 20 == 0 ? 0.2 : 0.0005);
+                expected.or(bits);
+                lists.add(toPostingList(bits));
+            }
+            lists.add(new PostingList());
+
+            PostingList union = PostingList.union(lists);
+
+            assertThat(union.toArray()).isEqualTo(expected.stream().toArray());
+            assertThat(union).isEqualTo(lists.stream().reduce(new PostingList(), PostingList::or));
+            assertThat(PostingList.union(List.of()).cardinality()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Rank, Select and Seek")
+    class RankSelectTests {
+
+        @Test
+        @DisplayName("Should agree with a bit set in sparse and dense chunks")
+        void matchesBitSet() {
+            Random random = new Random(11);
+            BitSet bits = randomBits(random, 200_000, 0.3);
+            bits.or(randomBits(random, 40_000, 0.001));
+            PostingList list = toPostingList(bits);
+
+            for (int i = 0; i < 1_000; i++) {
+                int ordinal = random.nextInt(200_001);
+                int rank = list.rank(ordinal);
+
+                assertThat(rank).isEqualTo(bits.get(0, ordinal).cardinality());
+                assertThat(list.select(rank)).isEqualTo(bits.nextSetBit(ordinal));
+                assertThat(list.stream(ordinal).limit(3).toArray())
+                    .containsExactly(bits.stream().filter(bit -> bit >= ordinal).limit(3).toArray());
+            }
+            assertThat(list.select(bits.cardinality())).isEqualTo(-1);
+        }
+    }
+}
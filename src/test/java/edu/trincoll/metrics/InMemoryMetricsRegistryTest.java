@@ -0,0 +1,88 @@
+package edu.trincoll.metrics;
+
+import edu.trincoll.model.Task;
+import edu.trincoll.processor.ExecutionPolicy;
+import edu.trincoll.processor.TaskProcessingEngine;
+import edu.trincoll.service.TaskAnalyzer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+class InMemoryMetricsRegistryTest {
+
+    private static List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            tasks.add(new Task(id, "Task " + id, null,
+                id % 2 == 0 ? Task.Priority.HIGH : Task.Priority.LOW, Task.Status.TODO,
+                Set.of("tag" + id % 3), null, null, 1));
+        }
+        return tasks;
+    }
+
+    @Nested
+    @DisplayName("Instrumented Operations")
+    class RegistryTests {
+
+        @Test
+        @DisplayName("Should record analyzer queries with their cardinalities")
+        void shouldRecordAnalyzerQueries() {
+            InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+            TaskAnalyzer analyzer = TaskAnalyzer.builder(tasks(30)).metrics(registry).build();
+
+            analyzer.findByPriority(Task.Priority.HIGH);
+            analyzer.findByPriority(Task.Priority.LOW);
+            analyzer.findTaskById(1L);
+
+            OperationStats stats = registry.stats("TaskAnalyzer.findByPriority").orElseThrow();
+            assertThat(stats.calls()).isEqualTo(2);
+            assertThat(stats.inputCount()).isEqualTo(60);
+            assertThat(stats.outputCount()).isEqualTo(30);
+            assertThat(stats.maxNanos()).isPositive().isGreaterThanOrEqualTo(stats.p50Nanos());
+            assertThat(registry.snapshot()).containsOnlyKeys("TaskAnalyzer.findByPriority");
+        }
+
+        @Test
+        @DisplayName("Should record each pipeline stage and each batch separately")
+        void shouldRecordEngineStages() {
+            InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+            TaskProcessingEngine engine = new TaskProcessingEngine(ExecutionPolicy.sequential(), registry);
+            List<Function<List<Task>, List<Task>>> operations = List.of(
+                list -> list.stream().filter(task -> task.priority() == Task.Priority.HIGH).toList(),
+                list -> list.subList(0, 5));
+
+            assertThat(engine.processPipeline(tasks(30), operations)).hasSize(5);
+            engine.batchProcess(tasks(25), 10, batch -> { });
+
+            assertThat(registry.stats("TaskProcessingEngine.processPipeline[0]").orElseThrow())
+                .extracting(OperationStats::inputCount, OperationStats::outputCount)
+                .containsExactly(30L, 15L);
+            assertThat(registry.stats("TaskProcessingEngine.processPipeline[1]").orElseThrow())
+                .extracting(OperationStats::inputCount, OperationStats::outputCount)
+                .containsExactly(15L, 5L);
+            assertThat(registry.stats("TaskProcessingEngine.batchProcess").orElseThrow())
+                .extracting(OperationStats::calls, OperationStats::inputCount)
+                .containsExactly(3L, 25L);
+        }
+
+        @Test
+        @DisplayName("Should skip measurement entirely when the recorder is disabled")
+        void shouldSkipDisabledRecorder() {
+            InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+            MetricsRecorder combined = MetricsRecorder.noop().andThen(registry);
+
+            assertThat(MetricsRecorder.noop().measure("op", 1, () -> "result", String::length)).isEqualTo("result");
+            assertThat(combined.measure("op", 4, () -> List.of(1, 2), List::size)).hasSize(2);
+            assertThat(registry.stats("op").orElseThrow())
+                .extracting(OperationStats::calls, OperationStats::inputCount, OperationStats::outputCount)
+                .containsExactly(1L, 4L, 2L);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package edu.trincoll.metrics;
+
+import edu.trincoll.model.Task;
+import edu.trincoll.service.TaskAnalyzer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JfrMetricsExporterTest {
+
+    private static List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            tasks.add(new Task(id, "Task " + id, null,
+                id % 2 == 0 ? Task.Priority.HIGH : Task.Priority.LOW, Task.Status.TODO,
+                Set.of("tag" + id % 3), null, null, 1));
+        }
+        return tasks;
+    }
+
+    @Nested
+    @DisplayName("JFR Export")
+    class JfrTests {
+
+        @Test
+        @DisplayName("Should emit operation events only while a recording enables them")
+        void shouldEmitEvents(@TempDir Path directory) throws Exception {
+            JfrMetricsExporter exporter = new JfrMetricsExporter();
+            TaskAnalyzer analyzer = TaskAnalyzer.builder(tasks(10)).metrics(exporter).build();
+            assertThat(exporter.isEnabled()).isFalse();
+
+            Path file = directory.resolve("operations.jfr");
+            try (Recording recording = new Recording()) {
+                recording.enable("edu.trincoll.Operation");
+                recording.start();
+                analyzer.findByTag("tag1");
+                recording.stop();
+                recording.dump(file);
+            }
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("edu.trincoll.Operation"))
+                .toList();
+            assertThat(events).singleElement().satisfies(event -> {
+                assertThat(event.getString("operation")).isEqualTo("TaskAnalyzer.findByTag");
+                assertThat(event.getLong("inputCount")).isEqualTo(10);
+                assertThat(event.getLong("outputCount")).isEqualTo(4);
+            });
+        }
+    }
+}
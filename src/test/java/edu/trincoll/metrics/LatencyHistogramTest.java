@@ -0,0 +1,78 @@
+package edu.trincoll.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Nested
+    @DisplayName("Latency Histogram")
+    class HistogramTests {
+
+        @Test
+        @DisplayName("Should report percentiles within the bucket precision")
+        void shouldReportPercentiles() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (long value = 1; value <= 10_000; value++) {
+                histogram.record(value * 1_000);
+            }
+
+            assertThat(histogram.count()).isEqualTo(10_000);
+            assertThat(histogram.max()).isEqualTo(10_000_000);
+            assertThat(histogram.mean()).isEqualTo(5_000_500.0);
+            assertThat(histogram.valueAtPercentile(50)).isBetween(5_000_000L, 5_160_000L);
+            assertThat(histogram.valueAtPercentile(99)).isBetween(9_900_000L, 10_000_000L);
+            assertThat(histogram.valueAtPercentile(100)).isEqualTo(10_000_000);
+            assertThat(new LatencyHistogram().valueAtPercentile(99)).isZero();
+        }
+
+        @Test
+        @DisplayName("Should map every value into a bucket that contains it")
+        void shouldBucketValues() {
+            Random random = new Random(7);
+            for (int i = 0; i < 10_000; i++) {
+                long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+                int bucket = LatencyHistogram.bucketOf(value);
+
+                assertThat(value).isBetween(LatencyHistogram.lowestValueIn(bucket), LatencyHistogram.highestValueIn(bucket));
+            }
+            assertThat(LatencyHistogram.highestValueIn(LatencyHistogram.bucketOf(Long.MAX_VALUE)))
+                .isEqualTo(Long.MAX_VALUE);
+        }
+
+        @Test
+        @DisplayName("Should not lose values recorded concurrently")
+        void shouldRecordConcurrently() throws Exception {
+            LatencyHistogram histogram = new LatencyHistogram();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> writers = new ArrayList<>();
+                for (int thread = 0; thread < 4; thread++) {
+                    writers.add(executor.submit(() -> {
+                        for (int i = 1; i <= 25_000; i++) {
+                            histogram.record(i);
+                        }
+                    }));
+                }
+                for (Future<?> writer : writers) {
+                    writer.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertThat(histogram.count()).isEqualTo(100_000);
+            assertThat(histogram.max()).isEqualTo(25_000);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package edu.trincoll.metrics;
+
+import edu.trincoll.model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SampledTaskLogTest {
+
+    private static List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            tasks.add(new Task(id, "Task " + id, null,
+                id % 2 == 0 ? Task.Priority.HIGH : Task.Priority.LOW, Task.Status.TODO,
+                Set.of("tag" + id % 3), null, null, 1));
+        }
+        return tasks;
+    }
+
+    @Nested
+    @DisplayName("Sampled Task Log")
+    class SampledLogTests {
+
+        @Test
+        @DisplayName("Should log a bounded line for every n-th batch")
+        void shouldSampleBatches() {
+            List<String> lines = new ArrayList<>();
+            SampledTaskLog log = new SampledTaskLog("Batch", 2, 2, lines::add, Runnable::run, 16);
+
+            log.process(tasks(5));
+            log.process(tasks(3));
+            log.process(tasks(1));
+            log.process(tasks(4));
+
+            assertThat(lines).containsExactly(
+                "Batch: 5 tasks [Task 1, Task 2, +3 more]",
+                "Batch: 1 tasks [Task 1]");
+        }
+
+        @Test
+        @DisplayName("Should drop lines instead of blocking when the writer falls behind")
+        void shouldDropWhenFull() {
+            List<Runnable> pending = new ArrayList<>();
+            List<String> lines = new ArrayList<>();
+            SampledTaskLog log = new SampledTaskLog("Batch", 1, 0, lines::add, pending::add, 2);
+
+            for (int i = 0; i < 5; i++) {
+                log.process(tasks(i));
+            }
+            assertThat(lines).isEmpty();
+            assertThat(log.dropped()).isEqualTo(3);
+
+            pending.forEach(Runnable::run);
+            assertThat(lines).containsExactly("Batch: 0 tasks", "Batch: 1 tasks");
+            assertThat(pending).hasSize(1);
+        }
+    }
+}
@@ -1,16 +1,34 @@
 package edu.trincoll.processor;
 
+import edu.trincoll.functional.TaskPatch;
 import edu.trincoll.functional.TaskPredicate;
 import edu.trincoll.functional.TaskProcessor;
 import edu.trincoll.functional.TaskTransformer;
+import edu.trincoll.metrics.InMemoryMetricsRegistry;
 import edu.trincoll.model.Task;
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.*;
 import java.util.stream.Collectors;
@@ -330,4 +348,592 @@ class TaskProcessingEngineTest {
                 .containsExactly("Task 1", "Task 2", "Task 3");
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Parallel Execution")
+    class ParallelTests {
+
+        private List<Task> manyTasks() {
+            List<Task> tasks = new ArrayList<>();
+            Random random = new Random(11);
+            for (long i = 0; i < 10_000; i++) {
+                tasks.add(new Task(i, "Task " + i, null,
+                    Task.Priority.values()[random.nextInt(4)],
+                    Task.Status.values()[random.nextInt(5)],
+                    Set.of(), LocalDateTime.now(), null, random.nextInt(8)));
+            }
+            return tasks;
+        }
+
+        @Test
+        @DisplayName("Should match sequential results on a dedicated pool")
+        void parallelMatchesSequential() {
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                TaskProcessingEngine parallel = new TaskProcessingEngine(
+                    ExecutionPolicy.parallel(pool, 100));
+                List<Task> tasks = manyTasks();
+                List<Comparator<Task>> comparators = List.of(
+                    Comparator.comparing(Task::priority).reversed(),
+                    Comparator.comparing(Task::status));
+                TaskTransformer transformer = TaskTransformer.withStatus(Task.Status.DONE);
+
+                assertThat(parallel.sortByMultipleCriteria(tasks, comparators))
+                    .isEqualTo(engine.sortByMultipleCriteria(tasks, comparators));
+                assertThat(parallel.filterAndTransform(tasks, TaskPredicate.isActive(), transformer))
+                    .isEqualTo(engine.filterAndTransform(tasks, TaskPredicate.isActive(), transformer));
+                assertThat(parallel.transformAll(tasks, transformer::apply))
+                    .isEqualTo(engine.transformAll(tasks, transformer::apply));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        @Test
+        @DisplayName("Should stay sequential below the threshold")
+        void threshold() {
+            ExecutionPolicy policy = ExecutionPolicy.parallel(ForkJoinPool.commonPool(), 100);
+
+            assertThat(policy.isParallelFor(99)).isFalse();
+            assertThat(policy.isParallelFor(100)).isTrue();
+            assertThat(ExecutionPolicy.sequential().isParallelFor(Integer.MAX_VALUE)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrent Batch Processing")
+    class ConcurrentBatchTests {
+
+        private List<Task> manyTasks(int count) {
+            List<Task> tasks = new ArrayList<>();
+            for (long i = 0; i < count; i++) {
+                tasks.add(new Task(i, "Task " + i, null, Task.Priority.LOW,
+                    Task.Status.TODO, Set.of(), LocalDateTime.now(), null, 1));
+            }
+            return tasks;
+        }
+
+        @Test
+        @DisplayName("Should report per-batch results in batch order")
+        void batchResults() {
+            BatchHandle handle = engine.batchProcessConcurrently(testTasks, 2, 4, tasks -> { });
+
+            assertThat(handle.batchCount()).isEqualTo(2);
+            assertThat(handle.await())
+                .extracting(BatchHandle.BatchResult::index, BatchHandle.BatchResult::size)
+                .containsExactly(tuple(0, 2), tuple(1, 1));
+            assertThat(handle.failures()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should isolate a failing batch")
+        void failureIsolation() {
+            AtomicInteger processed = new AtomicInteger();
+            BatchHandle handle = engine.batchProcessConcurrently(manyTasks(100), 10, 4, tasks -> {
+                if (tasks.get(0).id() == 50L) {
+                    throw new IllegalStateException("boom");
+                }
+                processed.addAndGet(tasks.size());
+            });
+
+            assertThat(handle.failures())
+                .singleElement()
+                .satisfies(result -> {
+                    assertThat(result.index()).isEqualTo(5);
+                    assertThat(result.failure()).hasMessage("boom");
+                });
+            assertThat(processed.get()).isEqualTo(90);
+        }
+
+        @Test
+        @DisplayName("Should isolate a batch that throws an Error")
+        void errorIsolation() {
+            BatchHandle handle = engine.batchProcessConcurrently(manyTasks(100), 10, 4, tasks -> {
+                if (tasks.get(0).id() == 50L) {
+                    throw new AssertionError("broken");
+                }
+            });
+
+            assertThat(handle.await()).hasSize(10);
+            assertThat(handle.failures())
+                .singleElement()
+                .satisfies(result -> assertThat(result.failure()).isInstanceOf(AssertionError.class));
+        }
+
+        @Test
+        @DisplayName("Should record a batch whose wait for a permit is interrupted")
+        void interruptedBatch() {
+            InMemoryMetricsRegistry metrics = new InMemoryMetricsRegistry();
+            Thread.currentThread().interrupt();
+
+            BatchHandle.BatchResult result = TaskProcessingEngine.runBatch(3, manyTasks(10), tasks -> {
+                throw new AssertionError("must not run");
+            }, new Semaphore(0), metrics);
+
+            assertThat(Thread.interrupted()).isTrue();
+            assertThat(result.index()).isEqualTo(3);
+            assertThat(result.failure()).isInstanceOf(InterruptedException.class);
+            assertThat(metrics.stats("TaskProcessingEngine.batchProcessConcurrently"))
+                .hasValueSatisfying(stats -> {
+                    assertThat(stats.calls()).isEqualTo(1);
+                    assertThat(stats.inputCount()).isEqualTo(10);
+                    assertThat(stats.outputCount()).isZero();
+                });
+        }
+
+        @Test
+        @DisplayName("Should bound the number of batches in flight")
+        void boundedInFlight() {
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger peak = new AtomicInteger();
+            BatchHandle handle = engine.batchProcessConcurrently(manyTasks(200), 5, 3, tasks -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+            });
+
+            assertThat(handle.await()).hasSize(40);
+            assertThat(peak.get()).isBetween(1, 3);
+        }
+    }
+
+    @Nested
+    @DisplayName("Streaming Pipeline")
+    class StreamingPipelineTests {
+
+        private Stream<Task> endlessTasks(AtomicInteger generated) {
+            return engine.generateTaskStream(() -> {
+                int id = generated.incrementAndGet();
+                return new Task((long) id, "Generated " + id, null,
+                    id % 2 == 0 ? Task.Priority.HIGH : Task.Priority.LOW,
+                    Task.Status.TODO, Set.of(), LocalDateTime.now(), null, 1);
+            });
+        }
+
+        @Test
+        @DisplayName("Should filter, transform and batch an endless source")
+        void endlessSource() throws Exception {
+            AtomicInteger generated = new AtomicInteger();
+            List<List<Task>> batches = Collections.synchronizedList(new ArrayList<>());
+
+            engine.streamPipeline(endlessTasks(generated))
+                .filter(TaskPredicate.byPriority(Task.Priority.HIGH))
+                .map(TaskTransformer.withStatus(Task.Status.DONE))
+                .batch(10)
+                .limit(3)
+                .forEach(batches::add)
+                .get(10, TimeUnit.SECONDS);
+
+            assertThat(batches).hasSize(3).allSatisfy(batch -> assertThat(batch).hasSize(10));
+            assertThat(batches.get(2))
+                .extracting(Task::id)
+                .containsExactly(42L, 44L, 46L, 48L, 50L, 52L, 54L, 56L, 58L, 60L);
+            assertThat(batches.get(0)).extracting(Task::status).containsOnly(Task.Status.DONE);
+        }
+
+        @Test
+        @DisplayName("Should stop pulling from the source once cancelled")
+        void boundedPulling() throws Exception {
+            AtomicInteger generated = new AtomicInteger();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                StreamingPipeline.from(endlessTasks(generated), executor, 8)
+                    .limit(5)
+                    .forEach(task -> { })
+                    .get(10, TimeUnit.SECONDS);
+                Thread.sleep(100);
+                int settled = generated.get();
+                Thread.sleep(100);
+
+                assertThat(generated.get()).isEqualTo(settled).isLessThan(100);
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep input order with a parallel stage")
+        void parallelStage() throws Exception {
+            ExecutorService workers = Executors.newFixedThreadPool(4);
+            try {
+                List<Integer> results = Collections.synchronizedList(new ArrayList<>());
+
+                StreamingPipeline.from(Stream.iterate(1, i -> i + 1).limit(200))
+                    .map(i -> i * 2, 4, workers)
+                    .forEach(results::add)
+                    .get(10, TimeUnit.SECONDS);
+
+                assertThat(results).hasSize(200).isSorted().startsWith(2, 4, 6);
+            } finally {
+                workers.shutdown();
+            }
+        }
+
+        @Test
+        @DisplayName("Should fail the pipeline when a stage throws")
+        void stageFailure() {
+            CompletableFuture<Void> completion = StreamingPipeline.from(Stream.of(1, 2, 3))
+                .map(i -> {
+                    if (i == 2) {
+                        throw new IllegalStateException("bad item");
+                    }
+                    return i;
+                })
+                .forEach(i -> { });
+
+            assertThatThrownBy(() -> completion.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("Should fail the pipeline when the source throws an Error")
+        void sourceError() {
+            CompletableFuture<Void> completion = StreamingPipeline.<Integer>from(Stream.generate(() -> {
+                    throw new AssertionError("source failed");
+                }))
+                .forEach(i -> { });
+
+            assertThatThrownBy(() -> completion.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(AssertionError.class);
+        }
+
+        @Test
+        @DisplayName("Should cancel in-flight parallel work when the stage fails")
+        void parallelStageFailureCancelsPending() throws Exception {
+            // The first item fails on its own thread once the next three are parked.
+            List<Runnable> parked = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch othersParked = new CountDownLatch(3);
+            AtomicBoolean firstStarted = new AtomicBoolean();
+            AtomicInteger mapped = new AtomicInteger();
+            Executor workers = task -> {
+                if (firstStarted.compareAndSet(false, true)) {
+                    new Thread(task).start();
+                } else {
+                    parked.add(task);
+                    othersParked.countDown();
+                }
+            };
+
+            CompletableFuture<Void> completion = StreamingPipeline.from(Stream.iterate(1, i -> i + 1).limit(10))
+                .map(i -> {
+                    if (i == 1) {
+                        awaitUninterruptibly(othersParked);
+                        throw new IllegalStateException("bad item");
+                    }
+                    mapped.incrementAndGet();
+                    return i;
+                }, 4, workers)
+                .forEach(i -> { });
+
+            assertThatThrownBy(() -> completion.get(10, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+            parked.forEach(Runnable::run);
+
+            assertThat(parked).hasSize(3);
+            assertThat(mapped.get()).isZero();
+        }
+
+        private static void awaitUninterruptibly(CountDownLatch latch) {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Fused Pipelines")
+    class FusedPipelineTests {
+
+        @Test
+        @DisplayName("Should filter, sort and limit like the list-based pipeline")
+        void matchesListPipeline() {
+            TaskPipeline pipeline = TaskPipeline.start()
+                .filter(TaskPredicate.byStatus(Task.Status.TODO))
+                .map(TaskTransformer.withPriority(Task.Priority.CRITICAL))
+                .sorted(Comparator.comparing(Task::dueDate))
+                .limit(1);
+
+            assertThat(engine.processPipeline(testTasks, pipeline))
+                .singleElement()
+                .satisfies(task -> {
+                    assertThat(task.id()).isEqualTo(1L);
+                    assertThat(task.priority()).isEqualTo(Task.Priority.CRITICAL);
+                });
+        }
+
+        @Test
+        @DisplayName("Should only transform tasks that pass the filter and stop at the limit")
+        void fusedSinglePass() {
+            AtomicInteger tested = new AtomicInteger();
+            AtomicInteger transformed = new AtomicInteger();
+            TaskPredicate todo = task -> {
+                tested.incrementAndGet();
+                return task.status() == Task.Status.TODO;
+            };
+
+            List<Task> result = engine.processPipeline(testTasks, TaskPipeline.start()
+                .filter(todo)
+                .map(task -> {
+                    transformed.incrementAndGet();
+                    return task;
+                })
+                .limit(1));
+
+            assertThat(result).extracting(Task::id).containsExactly(1L);
+            assertThat(tested.get()).isEqualTo(1);
+            assertThat(transformed.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should return the input for an empty pipeline")
+        void emptyPipeline() {
+            assertThat(engine.processPipeline(testTasks, TaskPipeline.start())).isSameAs(testTasks);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("Top-K Selection")
+    class TopKTests {
+
+        private List<Integer> numbers() {
+            return new Random(42).ints(5_000, 0, 100).boxed().toList();
+        }
+
+        @Test
+        @DisplayName("Should select the highest priority tasks")
+        void shouldSelectTopTasks() {
+            List<Task> top = engine.selectTop(testTasks, 2, Comparator.comparing(Task::priority));
+
+            assertThat(top).extracting(Task::id).containsExactly(1L, 3L);
+        }
+
+        @Test
+        @DisplayName("Should match sort-then-limit, including ties, sequentially and in parallel")
+        void shouldMatchSortThenLimit() {
+            List<Integer> numbers = numbers();
+            Comparator<Integer> byTens = Comparator.comparing(n -> n / 10);
+            List<Integer> expected = numbers.stream().sorted(byTens.reversed()).limit(25).toList();
+
+            assertThat(numbers.stream().collect(TopK.greatest(25, byTens))).isEqualTo(expected);
+            assertThat(numbers.parallelStream().collect(TopK.greatest(25, byTens))).isEqualTo(expected);
+            assertThat(numbers.parallelStream().collect(TopK.least(25, byTens)))
+                .isEqualTo(numbers.stream().sorted(byTens).limit(25).toList());
+        }
+
+        @Test
+        @DisplayName("Should handle k of zero and k larger than the input")
+        void shouldHandleEdgeSizes() {
+            assertThat(Stream.of(3, 1, 2).collect(TopK.greatest(0, Comparator.<Integer>naturalOrder()))).isEmpty();
+            assertThat(Stream.of(3, 1, 2).collect(TopK.greatest(10, Comparator.<Integer>naturalOrder())))
+                .containsExactly(3, 2, 1);
+            assertThatThrownBy(() -> TopK.greatest(-1, Comparator.<Integer>naturalOrder()))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Should keep a ranking up to date as tasks change")
+        void shouldTrackTopTasks() {
+            TopKTracker<Long, Task> tracker = new TopKTracker<>(Comparator.comparing(Task::priority));
+            testTasks.forEach(task -> tracker.put(task.id(), task));
+            assertThat(tracker.top(1)).extracting(Task::id).containsExactly(1L);
+
+            Task task2 = testTasks.get(1);
+            tracker.put(2L, new Task(2L, task2.title(), task2.description(), Task.Priority.CRITICAL,
+                task2.status(), task2.tags(), task2.createdAt(), task2.dueDate(), task2.estimatedHours()));
+            assertThat(tracker.top(2)).extracting(Task::id).containsExactly(2L, 1L);
+
+            assertThat(tracker.remove(2L)).isTrue();
+            assertThat(tracker.remove(2L)).isFalse();
+            assertThat(tracker.top(5)).extracting(Task::id).containsExactly(1L, 3L);
+            assertThat(tracker.size()).isEqualTo(2);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("Packed Sort Keys")
+    class PackedSortTests {
+
+        private List<Task> randomTasks(int count) {
+            Random random = new Random(7);
+            LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                Task.Priority priority = random.nextInt(8) == 0
+                    ? null : Task.Priority.values()[random.nextInt(Task.Priority.values().length)];
+                LocalDateTime due = random.nextInt(6) == 0
+                    ? null : base.plusMinutes(random.nextInt(50)).plusNanos(random.nextInt(2));
+                Integer hours = random.nextInt(5) == 0 ? null : random.nextInt(9) - 4;
+                tasks.add(new Task((long) i, "Task " + random.nextInt(20), null, priority,
+                    Task.Status.values()[random.nextInt(Task.Status.values().length)],
+                    Set.of(), base, due, hours));
+            }
+            return tasks;
+        }
+
+        private List<Task> sortedByChain(List<Task> tasks, List<Comparator<Task>> comparators) {
+            List<Task> sorted = new ArrayList<>(tasks);
+            sorted.sort(comparators.stream().reduce(Comparator::thenComparing).orElseThrow());
+            return sorted;
+        }
+
+        @Test
+        @DisplayName("Should match the comparator chain for built-in keys")
+        void shouldMatchChainForBuiltInKeys() {
+            List<Task> tasks = randomTasks(5_000);
+            List<Comparator<Task>> comparators = List.of(
+                SortKey.priority().reversed(), SortKey.dueDate(), SortKey.estimatedHours().reversed());
+
+            assertThat(engine.sortByMultipleCriteria(tasks, comparators))
+                .isEqualTo(sortedByChain(tasks, comparators));
+        }
+
+        @Test
+        @DisplayName("Should break ties with custom comparators after the built-in keys")
+        void shouldUseCustomComparatorsForTies() {
+            List<Task> tasks = randomTasks(5_000);
+            List<Comparator<Task>> comparators = List.of(
+                SortKey.status(), Comparator.comparing(Task::title), SortKey.dueDate().reversed());
+
+            assertThat(engine.sortByMultipleCriteria(tasks, comparators))
+                .isEqualTo(sortedByChain(tasks, comparators));
+        }
+
+        @Test
+        @DisplayName("Should put null values last, or first when reversed")
+        void shouldOrderNulls() {
+            Task withHours = testTasks.get(0);
+            Task withoutHours = new Task(4L, "Task 4", null, Task.Priority.LOW, Task.Status.TODO,
+                Set.of(), null, null, null);
+
+            assertThat(SortKey.estimatedHours().compare(withoutHours, withHours)).isPositive();
+            assertThat(SortKey.estimatedHours().reversed().compare(withoutHours, withHours)).isNegative();
+        }
+    }
+
+    @Nested
+    @DisplayName("Flight Recorder Events")
+    class FlightRecorderTests {
+
+        private List<RecordedEvent> record(Path file, Runnable action) throws Exception {
+            try (Recording recording = new Recording()) {
+                recording.enable("edu.trincoll.PipelineStage");
+                recording.enable("edu.trincoll.Batch");
+                recording.start();
+                action.run();
+                recording.stop();
+                recording.dump(file);
+            }
+            return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("edu.trincoll."))
+                .toList();
+        }
+
+        @Test
+        @DisplayName("Should leave stage and batch events disabled by default")
+        void shouldBeDisabledByDefault() {
+            assertThat(EventType.getEventType(PipelineStageEvent.class).isEnabled()).isFalse();
+            assertThat(EventType.getEventType(BatchEvent.class).isEnabled()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should emit one event per stage, fused segment and sort")
+        void shouldEmitStageEvents(@TempDir Path directory) throws Exception {
+            TaskPipeline pipeline = TaskPipeline.start()
+                .filter(TaskPredicate.byStatus(Task.Status.TODO))
+                .map(TaskTransformer.withPriority(Task.Priority.LOW))
+                .sorted(Comparator.comparing(Task::id).reversed())
+                .limit(1);
+
+            List<RecordedEvent> events = record(directory.resolve("stages.jfr"), () -> {
+                engine.processPipeline(testTasks, List.of(list -> list.subList(0, 2), list -> list));
+                engine.processPipeline(testTasks, pipeline);
+            });
+
+            assertThat(events)
+                .extracting(event -> event.getString("stage") + "@" + event.getInt("stageIndex")
+                    + ":" + event.getInt("inputCount") + "->" + event.getInt("outputCount"))
+                .containsExactlyInAnyOrder(
+                    "processPipeline@0:3->2",
+                    "processPipeline@1:2->2",
+                    "filter+map@0:3->2",
+                    "sorted@2:2->2",
+                    "limit@3:2->1");
+        }
+
+        @Test
+        @DisplayName("Should emit one event per batch, including failed ones")
+        void shouldEmitBatchEvents(@TempDir Path directory) throws Exception {
+            List<RecordedEvent> events = record(directory.resolve("batches.jfr"), () -> {
+                engine.batchProcess(testTasks, 2, batch -> { });
+                engine.batchProcessConcurrently(testTasks, 2, 1, batch -> {
+                    if (batch.size() == 1) {
+                        throw new IllegalStateException("fail");
+                    }
+                }).await();
+            });
+
+            assertThat(events)
+                .extracting(event -> event.getString("operation") + "#" + event.getInt("batchIndex")
+                    + ":" + event.getInt("taskCount") + (event.getBoolean("failed") ? " failed" : ""))
+                .containsExactlyInAnyOrder(
+                    "batchProcess#0:2",
+                    "batchProcess#1:1",
+                    "batchProcessConcurrently#0:2",
+                    "batchProcessConcurrently#1:1 failed");
+        }
+    }
+
+    @Nested
+    @DisplayName("Transformer Patches")
+    class PatchTests {
+
+        @Test
+        @DisplayName("Should collapse a chain of setters into one patch")
+        void shouldCollapseSetters() {
+            TaskTransformer chain = TaskTransformer.withStatus(Task.Status.DONE)
+                .andThen(TaskTransformer.withPriority(Task.Priority.LOW))
+                .andThen(TaskTransformer.withStatus(Task.Status.BLOCKED));
+
+            assertThat(chain).isInstanceOf(TaskPatch.class);
+            Task patched = chain.apply(testTasks.get(0));
+            assertThat(patched.status()).isEqualTo(Task.Status.BLOCKED);
+            assertThat(patched.priority()).isEqualTo(Task.Priority.LOW);
+            assertThat(patched).usingRecursiveComparison()
+                .ignoringFields("status", "priority")
+                .isEqualTo(testTasks.get(0));
+        }
+
+        @Test
+        @DisplayName("Should return unchanged tasks as they are")
+        void shouldKeepUnchangedTasks() {
+            Task task = testTasks.get(1);
+            TaskTransformer noChange = TaskTransformer.withStatus(task.status())
+                .andThen(TaskTransformer.withPriority(task.priority()));
+
+            assertThat(noChange.apply(task)).isSameAs(task);
+            assertThat(engine.transformAll(testTasks, noChange::apply))
+                .zipSatisfy(testTasks, (result, original) -> assertThat(result).isSameAs(original));
+        }
+
+        @Test
+        @DisplayName("Should still compose patches with arbitrary transformers")
+        void shouldComposeWithOtherTransformers() {
+            TaskTransformer retitle = task -> new Task(task.id(), task.title().toUpperCase(), task.description(),
+                task.priority(), task.status(), task.tags(), task.createdAt(), task.dueDate(), task.estimatedHours());
+            TaskTransformer chain = TaskTransformer.withStatus(Task.Status.DONE).andThen(retitle);
+
+            assertThat(chain).isNotInstanceOf(TaskPatch.class);
+            assertThat(chain.apply(testTasks.get(2)))
+                .extracting(Task::title, Task::status)
+                .containsExactly("TASK 3", Task.Status.DONE);
+        }
+    }
+}
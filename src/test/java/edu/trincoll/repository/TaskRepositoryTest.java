@@ -0,0 +1,163 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TaskRepositoryTest {
+
+    private static Task task(long id, Task.Status status) {
+        return new Task(id, "Task " + id, null, Task.Priority.MEDIUM, status, Set.of(), null, null, 1);
+    }
+
+    @Nested
+    @DisplayName("Reads and Writes")
+    class ReadWriteTests {
+
+        @Test
+        @DisplayName("Should put, replace and remove tasks by id")
+        void shouldPutAndRemove() {
+            TaskRepository repository = new TaskRepository();
+
+            assertThat(repository.put(task(1, Task.Status.TODO))).isEmpty();
+            assertThat(repository.put(task(1, Task.Status.DONE))).contains(task(1, Task.Status.TODO));
+            assertThat(repository.get(1L)).contains(task(1, Task.Status.DONE));
+            assertThat(repository.size()).isEqualTo(1);
+
+            assertThat(repository.remove(1L)).contains(task(1, Task.Status.DONE));
+            assertThat(repository.remove(1L)).isEmpty();
+            assertThat(repository.get(1L)).isEmpty();
+            assertThat(repository.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should reject tasks without an id and invalid shard counts")
+        void shouldRejectInvalidInput() {
+            TaskRepository repository = new TaskRepository();
+
+            assertThatThrownBy(() -> repository.put(new Task(null, "No id", null, null, null, null, null, null, null)))
+                .isInstanceOf(NullPointerException.class);
+            assertThatThrownBy(() -> new TaskRepository(3)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Snapshots")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("Should not see writes made after the snapshot was taken")
+        void shouldIsolateSnapshots() {
+            TaskRepository repository = new TaskRepository(4);
+            repository.put(task(1, Task.Status.TODO));
+            repository.put(task(2, Task.Status.TODO));
+
+            try (TaskRepository.Snapshot snapshot = repository.snapshot()) {
+                repository.put(task(1, Task.Status.DONE));
+                repository.remove(2L);
+                repository.put(task(3, Task.Status.TODO));
+
+                assertThat(snapshot.tasks()).containsExactly(task(1, Task.Status.TODO), task(2, Task.Status.TODO));
+                assertThat(snapshot.get(3L)).isEmpty();
+                assertThat(snapshot.analyzer().findByStatus(Task.Status.TODO)).hasSize(2);
+            }
+            try (TaskRepository.Snapshot snapshot = repository.snapshot()) {
+                assertThat(snapshot.tasks()).containsExactly(task(1, Task.Status.DONE), task(3, Task.Status.TODO));
+            }
+        }
+
+        @Test
+        @DisplayName("Should fail reads after the snapshot is closed")
+        void shouldRejectClosedSnapshots() {
+            TaskRepository.Snapshot snapshot = new TaskRepository().snapshot();
+            snapshot.close();
+
+            assertThatThrownBy(snapshot::tasks).isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("Should reclaim removed ids once no open snapshot needs them")
+        void shouldReclaimHistory() {
+            TaskRepository repository = new TaskRepository();
+            for (long id = 1; id <= 100; id++) {
+                repository.put(task(id, Task.Status.TODO));
+            }
+
+            TaskRepository.Snapshot snapshot = repository.snapshot();
+            for (long id = 1; id <= 100; id++) {
+                repository.put(task(id, Task.Status.DONE));
+                repository.remove(id);
+            }
+            assertThat(repository.versionCount()).isEqualTo(300);
+            assertThat(snapshot.analyzer()).isSameAs(snapshot.analyzer());
+            assertThat(snapshot.analyzer().findByStatus(Task.Status.TODO)).hasSize(100);
+
+            snapshot.close();
+            assertThat(repository.versionCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should keep history until the oldest snapshot closes")
+        void shouldSweepWhenOldestCloses() {
+            TaskRepository repository = new TaskRepository();
+            repository.put(task(1, Task.Status.TODO));
+            TaskRepository.Snapshot first = repository.snapshot();
+            repository.put(task(1, Task.Status.DONE));
+            TaskRepository.Snapshot second = repository.snapshot();
+            repository.remove(1L);
+
+            assertThat(repository.versionCount()).isEqualTo(3);
+            second.close();
+            assertThat(repository.versionCount()).isEqualTo(3);
+            first.close();
+            assertThat(repository.versionCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should give stable snapshots while writers keep going")
+        void shouldStayConsistentUnderConcurrentWrites() throws Exception {
+            TaskRepository repository = new TaskRepository(8);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> writers = new ArrayList<>();
+                for (int writer = 0; writer < 3; writer++) {
+                    long base = writer * 1_000_000L;
+                    writers.add(executor.submit(() -> {
+                        for (long i = 0; i < 20_000; i++) {
+                            repository.put(task(base + i, Task.Status.TODO));
+                        }
+                    }));
+                }
+                for (int read = 0; read < 20; read++) {
+                    try (TaskRepository.Snapshot snapshot = repository.snapshot()) {
+                        List<Task> tasks = snapshot.tasks();
+                        // Each writer adds ids in order, so a snapshot holds a prefix of each.
+                        Map<Long, Long> countsByWriter = new HashMap<>();
+                        Map<Long, Long> maxByWriter = new HashMap<>();
+                        for (Task task : tasks) {
+                            countsByWriter.merge(task.id() / 1_000_000, 1L, Long::sum);
+                            maxByWriter.merge(task.id() / 1_000_000, task.id() % 1_000_000, Math::max);
+                        }
+                        countsByWriter.forEach((writer, count) ->
+                            assertThat(count).isEqualTo(maxByWriter.get(writer) + 1));
+                        assertThat(snapshot.tasks()).isEqualTo(tasks);
+                    }
+                }
+                for (Future<?> writer : writers) {
+                    writer.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            assertThat(repository.size()).isEqualTo(60_000);
+        }
+    }
+}
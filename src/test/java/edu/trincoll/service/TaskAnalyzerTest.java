@@ -1,14 +1,20 @@
 package edu.trincoll.service;
 
+import edu.trincoll.functional.PredicateNode;
 import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.functional.TaskTransformer;
+import edu.trincoll.model.TagDictionary;
+import edu.trincoll.model.TagSet;
 import edu.trincoll.model.Task;
+import edu.trincoll.processor.ExecutionPolicy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
-import java.time.LocalDateTime;
+import java.time.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.*;
@@ -156,6 +162,20 @@ class TaskAnalyzerTest {
                 .hasValue(22); // 8 + 3 + 5 + 2 + 4
         }
 
+        @Test
+        @DisplayName("Should saturate total hours beyond the int range")
+        void getTotalEstimatedHoursSaturates() {
+            List<Task> huge = List.of(
+                new Task(1L, "A", null, Task.Priority.LOW, Task.Status.TODO, Set.of(), null, null, Integer.MAX_VALUE),
+                new Task(2L, "B", null, Task.Priority.LOW, Task.Status.TODO, Set.of(), null, null, Integer.MAX_VALUE));
+            TaskAnalyzer large = new TaskAnalyzer(huge);
+
+            assertThat(large.getTotalEstimatedHours()).hasValue(Integer.MAX_VALUE);
+            assertThat(large.summarize(TaskSummary.Metric.TOTAL_HOURS).getTotalEstimatedHours())
+                .hasValue(Integer.MAX_VALUE);
+            assertThat(large.getAverageEstimatedHours()).hasValue(Integer.MAX_VALUE);
+        }
+
         @Test
         @DisplayName("Should calculate average estimated hours")
         void getAverageEstimatedHours() {
@@ -320,4 +340,701 @@ class TaskAnalyzerTest {
             assertThat(allAssigned).isFalse();
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Index Lookups")
+    class IndexTests {
+
+        @Test
+        @DisplayName("Should look up tasks by status index")
+        void findByStatus() {
+            assertThat(analyzer.findByStatus(Task.Status.TODO))
+                .extracting(Task::id)
+                .containsExactly(2L, 3L);
+            assertThat(analyzer.findByStatus(Task.Status.BLOCKED)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should look up tasks by priority index")
+        void findByPriority() {
+            assertThat(analyzer.findByPriority(Task.Priority.CRITICAL))
+                .extracting(Task::id)
+                .containsExactly(3L, 5L);
+        }
+
+        @Test
+        @DisplayName("Should look up tasks by tag index")
+        void findByTag() {
+            assertThat(analyzer.findByTag("production"))
+                .extracting(Task::id)
+                .containsExactly(3L, 5L);
+            assertThat(analyzer.findByTag("unknown")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should keep the first task for duplicate IDs")
+        void duplicateIds() {
+            Task first = testTasks.get(0);
+            Task duplicate = new Task(first.id(), "Duplicate", null,
+                Task.Priority.LOW, Task.Status.TODO, null, null, null, null);
+
+            TaskAnalyzer withDuplicate = new TaskAnalyzer(List.of(first, duplicate));
+
+            assertThat(withDuplicate.findTaskById(first.id())).containsSame(first);
+            assertThat(withDuplicate.findTaskById(null)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Predicate Planning")
+    class PlanningTests {
+
+        @Test
+        @DisplayName("Should expose composed predicates as an inspectable tree")
+        void composedPredicateIsInspectable() {
+            TaskPredicate predicate = TaskPredicate.byStatus(Task.Status.TODO)
+                .and(TaskPredicate.hasTag("development"));
+
+            assertThat(predicate).isEqualTo(new PredicateNode.And(
+                new PredicateNode.ByStatus(Task.Status.TODO),
+                new PredicateNode.HasTag("development")));
+        }
+
+        @Test
+        @DisplayName("Should answer index-backed conjunctions and disjunctions")
+        void indexBackedComposition() {
+            TaskPredicate predicate = TaskPredicate.byStatus(Task.Status.TODO)
+                .and(TaskPredicate.hasTag("development"))
+                .or(TaskPredicate.byPriority(Task.Priority.LOW));
+
+            assertThat(analyzer.filterWithCustomPredicate(predicate))
+                .extracting(Task::id)
+                .containsExactly(2L, 4L);
+        }
+
+        @Test
+        @DisplayName("Should apply residual lambdas only where indexes cannot decide")
+        void residualPredicate() {
+            TaskPredicate longRunning = task -> task.estimatedHours() != null && task.estimatedHours() > 4;
+
+            assertThat(analyzer.filterWithCustomPredicate(
+                    TaskPredicate.hasTag("production").and(longRunning)))
+                .extracting(Task::id)
+                .containsExactly(3L);
+
+            assertThat(analyzer.filterWithCustomPredicate(
+                    longRunning.or(TaskPredicate.byStatus(Task.Status.CANCELLED))))
+                .extracting(Task::id)
+                .containsExactly(1L, 3L, 6L);
+        }
+
+        @Test
+        @DisplayName("Should plan negation and overdue predicates")
+        void negationAndOverdue() {
+            assertThat(analyzer.filterWithCustomPredicate(TaskPredicate.isActive().negate()))
+                .extracting(Task::id)
+                .containsExactly(4L, 6L);
+
+            assertThat(analyzer.filterWithCustomPredicate(TaskPredicate.isOverdue()))
+                .extracting(Task::id)
+                .containsExactly(2L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Multi-Tag Queries")
+    class MultiTagTests {
+
+        @Test
+        @DisplayName("Should intersect tag postings")
+        void findByAllTags() {
+            assertThat(analyzer.findByAllTags(List.of("production", "bug")))
+                .extracting(Task::id)
+                .containsExactly(5L);
+            assertThat(analyzer.findByAllTags(List.of("production", "unknown"))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should union tag postings")
+        void findByAnyTag() {
+            assertThat(analyzer.findByAnyTag(List.of("review", "meeting", "unknown")))
+                .extracting(Task::id)
+                .containsExactly(2L, 6L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Single-Pass Summary")
+    class SummaryTests {
+
+        @Test
+        @DisplayName("Should match the individual queries")
+        void summaryMatchesQueries() {
+            TaskSummary summary = analyzer.summarize(EnumSet.allOf(TaskSummary.Metric.class));
+
+            assertThat(summary.groupByStatus()).isEqualTo(analyzer.groupByStatus());
+            assertThat(summary.countTasksByPriority()).isEqualTo(analyzer.countTasksByPriority());
+            assertThat(summary.getAllUniqueTags()).isEqualTo(analyzer.getAllUniqueTags());
+            assertThat(summary.getTotalEstimatedHours()).hasValue(22);
+            assertThat(summary.getAverageEstimatedHours()).hasValue(4.4);
+            assertThat(summary.hasOverdueTasks()).isTrue();
+            assertThat(summary.partitionByOverdue()).isEqualTo(analyzer.partitionByOverdue());
+        }
+
+        @Test
+        @DisplayName("Should only expose the requested metrics")
+        void requestedSubset() {
+            TaskSummary summary = analyzer.summarize(TaskSummary.Metric.TOTAL_HOURS);
+
+            assertThat(summary.metrics()).containsExactly(TaskSummary.Metric.TOTAL_HOURS);
+            assertThatThrownBy(summary::groupByStatus)
+                .isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("Should merge partial states from a parallel stream in order")
+        void parallelCollector() {
+            List<Task> many = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                many.addAll(testTasks);
+            }
+
+            TaskSummary parallel = many.parallelStream()
+                .collect(TaskSummary.collector(EnumSet.allOf(TaskSummary.Metric.class)));
+            TaskSummary sequential = new TaskAnalyzer(many)
+                .summarize(EnumSet.allOf(TaskSummary.Metric.class));
+
+            assertThat(parallel.groupByStatus()).isEqualTo(sequential.groupByStatus());
+            assertThat(parallel.partitionByOverdue()).isEqualTo(sequential.partitionByOverdue());
+            assertThat(parallel.getTotalEstimatedHours()).hasValue(22_000);
+        }
+
+        @Test
+        @DisplayName("Should agree with a collector pass after incremental updates")
+        void summaryTracksUpdates() {
+            analyzer.removeById(1L);
+            analyzer.add(new Task(20L, "New", null, Task.Priority.LOW, Task.Status.BLOCKED,
+                Set.of("fresh-summary-tag"), null, LocalDateTime.now().minusDays(1), 3));
+            Task second = analyzer.findTaskById(2L).orElseThrow();
+            analyzer.update(new Task(2L, second.title(), null, Task.Priority.CRITICAL, Task.Status.DONE,
+                Set.of(), second.createdAt(), second.dueDate(), null));
+
+            TaskSummary summary = analyzer.summarize(EnumSet.allOf(TaskSummary.Metric.class));
+            TaskSummary collected = analyzer.filterTasks(task -> true).stream()
+                .collect(TaskSummary.collector(EnumSet.allOf(TaskSummary.Metric.class)));
+
+            assertThat(summary.groupByStatus()).isEqualTo(collected.groupByStatus());
+            assertThat(summary.countTasksByPriority()).isEqualTo(collected.countTasksByPriority());
+            assertThat(summary.getAllUniqueTags()).isEqualTo(collected.getAllUniqueTags());
+            assertThat(summary.getTotalEstimatedHours()).isEqualTo(collected.getTotalEstimatedHours());
+            assertThat(summary.getAverageEstimatedHours()).isEqualTo(collected.getAverageEstimatedHours());
+            assertThat(summary.hasOverdueTasks()).isEqualTo(collected.hasOverdueTasks());
+            assertThat(summary.partitionByOverdue()).isEqualTo(collected.partitionByOverdue());
+        }
+    }
+
+    @Nested
+    @DisplayName("Parallel Execution")
+    class ParallelTests {
+
+        @Test
+        @DisplayName("Should return the sequential results in the same order")
+        void parallelMatchesSequential() {
+            List<Task> many = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                many.addAll(testTasks);
+            }
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                TaskAnalyzer sequential = new TaskAnalyzer(many);
+                TaskAnalyzer parallel = TaskAnalyzer.builder(many)
+                    .executionPolicy(ExecutionPolicy.parallel(pool, 100))
+                    .build();
+                TaskPredicate longRunning = task -> task.estimatedHours() != null && task.estimatedHours() > 4;
+
+                assertThat(parallel.filterTasks(longRunning))
+                    .isEqualTo(sequential.filterTasks(longRunning));
+                assertThat(parallel.filterWithCustomPredicate(TaskPredicate.isActive().and(longRunning)))
+                    .isEqualTo(sequential.filterWithCustomPredicate(TaskPredicate.isActive().and(longRunning)));
+                assertThat(parallel.getTopPriorityTasks(50))
+                    .isEqualTo(sequential.getTopPriorityTasks(50));
+                assertThat(parallel.partitionByOverdue())
+                    .isEqualTo(sequential.partitionByOverdue());
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental Updates")
+    class MutationTests {
+
+        private Task withStatus(Task task, Task.Status status) {
+            return new Task(task.id(), task.title(), task.description(), task.priority(), status,
+                task.tags(), task.createdAt(), task.dueDate(), task.estimatedHours());
+        }
+
+        @Test
+        @DisplayName("Should index added tasks")
+        void shouldIndexAddedTasks() {
+            Task task = new Task(100L, "Plan sprint", null, Task.Priority.HIGH, Task.Status.TODO,
+                Set.of("planning"), LocalDateTime.now(), LocalDateTime.now().minusHours(1), 6);
+
+            analyzer.add(task);
+
+            assertThat(analyzer.findTaskById(100L)).contains(task);
+            assertThat(analyzer.findByTag("planning")).containsExactly(task);
+            assertThat(analyzer.getAllUniqueTags()).contains("planning");
+            assertThat(analyzer.partitionByOverdue().get(true)).contains(task);
+            assertThat(analyzer.getTotalEstimatedHours())
+                .isEqualTo(new TaskAnalyzer(append(testTasks, task)).getTotalEstimatedHours());
+            assertThatThrownBy(() -> analyzer.add(task)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Should move updated tasks between groups in place")
+        void shouldUpdateTasks() {
+            Task overdue = analyzer.findTaskById(2L).orElseThrow();
+
+            assertThat(analyzer.update(withStatus(overdue, Task.Status.DONE))).isTrue();
+
+            assertThat(analyzer.hasOverdueTasks()).isFalse();
+            assertThat(analyzer.findByStatus(Task.Status.DONE)).extracting(Task::id).contains(2L);
+            assertThat(analyzer.findByStatus(Task.Status.TODO)).extracting(Task::id).doesNotContain(2L);
+            assertThat(analyzer.getTaskTitles().indexOf("Code review")).isEqualTo(1);
+            assertThat(analyzer.update(new Task(999L, "Missing", null, null, null, null, null, null, null)))
+                .isFalse();
+        }
+
+        @Test
+        @DisplayName("Should drop removed tasks and release their tags")
+        void shouldRemoveTasks() {
+            Task documentation = analyzer.findTaskById(4L).orElseThrow();
+
+            assertThat(analyzer.remove(documentation)).isTrue();
+            assertThat(analyzer.remove(documentation)).isFalse();
+
+            assertThat(analyzer.size()).isEqualTo(testTasks.size() - 1);
+            assertThat(analyzer.findTaskById(4L)).isEmpty();
+            assertThat(analyzer.getAllUniqueTags()).doesNotContain("documentation");
+            assertThat(analyzer.filterTasks(TaskPredicate.isActive().negate()))
+                .extracting(Task::id).doesNotContain(4L);
+        }
+
+        @Test
+        @DisplayName("Should match a freshly built analyzer after many edits")
+        void shouldMatchRebuiltAnalyzer() {
+            List<Task> expected = new ArrayList<>(testTasks);
+            for (long id = 100; id < 400; id++) {
+                Task task = new Task(id, "Task " + id, null,
+                    Task.Priority.values()[(int) (id % 4)], Task.Status.values()[(int) (id % 5)],
+                    Set.of("tag" + id % 7), LocalDateTime.now(), LocalDateTime.now().plusDays(id % 5 - 2),
+                    id % 3 == 0 ? null : (int) (id % 10));
+                analyzer.add(task);
+                expected.add(task);
+            }
+            for (long id = 100; id < 400; id += 2) {
+                Task removed = analyzer.findTaskById(id).orElseThrow();
+                analyzer.remove(removed);
+                expected.remove(removed);
+            }
+            TaskAnalyzer rebuilt = new TaskAnalyzer(expected);
+
+            assertThat(analyzer.groupByStatus()).isEqualTo(rebuilt.groupByStatus());
+            assertThat(analyzer.countTasksByPriority()).isEqualTo(rebuilt.countTasksByPriority());
+            assertThat(analyzer.getAllTagsSorted()).isEqualTo(rebuilt.getAllTagsSorted());
+            assertThat(analyzer.getAverageEstimatedHours()).isEqualTo(rebuilt.getAverageEstimatedHours());
+            assertThat(analyzer.partitionByOverdue()).isEqualTo(rebuilt.partitionByOverdue());
+            assertThat(analyzer.getTopPriorityTasks(10)).isEqualTo(rebuilt.getTopPriorityTasks(10));
+        }
+
+        private List<Task> append(List<Task> tasks, Task task) {
+            List<Task> appended = new ArrayList<>(tasks);
+            appended.add(task);
+            return appended;
+        }
+    }
+
+    @Nested
+    @DisplayName("Overdue Tracking")
+    class OverdueTests {
+        private final LocalDateTime start = LocalDateTime.of(2025, 1, 6, 9, 0);
+        private final MutableClock clock = new MutableClock(start.toInstant(ZoneOffset.UTC));
+
+        private Task due(long id, Task.Status status, LocalDateTime dueDate) {
+            return new Task(id, "Task " + id, null, Task.Priority.MEDIUM, status,
+                Set.of(), start.minusDays(1), dueDate, 1);
+        }
+
+        private TaskAnalyzer analyzerOf(Task... tasks) {
+            return TaskAnalyzer.builder(List.of(tasks)).clock(clock).build();
+        }
+
+        @Test
+        @DisplayName("Should answer overdue queries against the injected clock")
+        void shouldUseInjectedClock() {
+            TaskAnalyzer timed = analyzerOf(
+                due(1, Task.Status.TODO, start.minusHours(1)),
+                due(2, Task.Status.TODO, start.plusHours(1)),
+                due(3, Task.Status.DONE, start.minusHours(1)));
+
+            assertThat(timed.filterTasks(TaskPredicate.isOverdue())).extracting(Task::id).containsExactly(1L);
+
+            clock.advance(Duration.ofHours(2));
+
+            assertThat(timed.filterTasks(TaskPredicate.isOverdue())).extracting(Task::id).containsExactly(1L, 2L);
+            assertThat(timed.partitionByOverdue().get(false)).extracting(Task::id).containsExactly(3L);
+            assertThat(timed.hasOverdueTasks()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should use the injected clock for inexact overdue predicates and summaries")
+        void shouldUseInjectedClockForResidualTests() {
+            TaskAnalyzer timed = analyzerOf(
+                due(1, Task.Status.TODO, start.minusHours(1)),
+                due(2, Task.Status.TODO, start.plusHours(1)),
+                due(3, Task.Status.DONE, start.minusHours(1)));
+            TaskPredicate overdueOrNamed = TaskPredicate.isOverdue().or(task -> task.title().equals("Named"));
+
+            assertThat(timed.filterTasks(overdueOrNamed)).extracting(Task::id).containsExactly(1L);
+            assertThat(timed.filterTasks(overdueOrNamed.negate())).extracting(Task::id).containsExactly(2L, 3L);
+            assertThat(timed.summarize(TaskSummary.Metric.PARTITION_BY_OVERDUE).partitionByOverdue().get(true))
+                .extracting(Task::id).containsExactly(1L);
+
+            clock.advance(Duration.ofHours(2));
+
+            assertThat(timed.filterTasks(overdueOrNamed)).extracting(Task::id).containsExactly(1L, 2L);
+            assertThat(timed.summarize(TaskSummary.Metric.PARTITION_BY_OVERDUE).partitionByOverdue().get(true))
+                .extracting(Task::id).containsExactly(1L, 2L);
+        }
+
+        @Test
+        @DisplayName("Should report each task once when it becomes overdue")
+        void shouldReportNewlyOverdueTasks() {
+            TaskAnalyzer timed = analyzerOf(
+                due(1, Task.Status.TODO, start.minusHours(1)),
+                due(2, Task.Status.TODO, start.plusHours(1)),
+                due(3, Task.Status.IN_PROGRESS, start.plusHours(3)));
+            List<Long> events = new ArrayList<>();
+            timed.onBecameOverdue(task -> events.add(task.id()));
+
+            assertThat(timed.nextOverdueAt()).contains(start.plusHours(1));
+            assertThat(timed.pollNewlyOverdue()).isEmpty();
+
+            clock.advance(Duration.ofHours(2));
+            assertThat(timed.pollNewlyOverdue()).extracting(Task::id).containsExactly(2L);
+            assertThat(timed.pollNewlyOverdue()).isEmpty();
+            assertThat(timed.nextOverdueAt()).contains(start.plusHours(3));
+
+            timed.add(due(4, Task.Status.TODO, start.minusHours(2)));
+            timed.update(due(3, Task.Status.DONE, start.plusHours(3)));
+            clock.advance(Duration.ofHours(2));
+            timed.pollNewlyOverdue();
+
+            assertThat(events).containsExactly(2L, 4L);
+            assertThat(timed.nextOverdueAt()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should union overdue tasks across many distinct due dates")
+        void shouldHandleManyDistinctDueDates() {
+            List<Task> tasks = new ArrayList<>();
+            for (long id = 1; id <= 20_000; id++) {
+                tasks.add(due(id, Task.Status.TODO, start.plusSeconds(id * (id % 2 == 0 ? -1 : 1))));
+            }
+            TaskAnalyzer timed = TaskAnalyzer.builder(tasks).clock(clock).build();
+
+            assertThat(timed.filterTasks(TaskPredicate.isOverdue()))
+                .extracting(Task::id)
+                .hasSize(10_000)
+                .allMatch(id -> id % 2 == 0)
+                .isSorted();
+            assertThat(timed.partitionByOverdue().get(false)).hasSize(10_000);
+
+            clock.advance(Duration.ofSeconds(20_000));
+
+            assertThat(timed.pollNewlyOverdue()).hasSize(10_000);
+            assertThat(timed.filterTasks(TaskPredicate.isOverdue())).hasSize(20_000);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    @Nested
+    @DisplayName("Snapshots and Versions")
+    class VersionTests {
+
+        @Test
+        @DisplayName("Should keep a snapshot unchanged by later edits")
+        void shouldKeepSnapshots() {
+            List<Task> before = analyzer.snapshot();
+
+            analyzer.removeById(1L);
+
+            assertThat(before).isEqualTo(testTasks);
+            assertThat(new TaskAnalyzer(before).findTaskById(1L)).isPresent();
+            assertThat(analyzer.snapshot()).hasSize(testTasks.size() - 1);
+        }
+
+        @Test
+        @DisplayName("Should derive a transformed analyzer and leave the original intact")
+        void shouldTransform() {
+            TaskAnalyzer completed = analyzer.transform(TaskTransformer.withStatus(Task.Status.DONE));
+
+            assertThat(completed.findByStatus(Task.Status.DONE)).hasSize(testTasks.size());
+            assertThat(completed.hasOverdueTasks()).isFalse();
+            assertThat(analyzer.groupByStatus()).isEqualTo(new TaskAnalyzer(testTasks).groupByStatus());
+            assertThat(completed.findTaskById(4L).orElseThrow()).isSameAs(testTasks.get(3));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tag Encoding")
+    class TagEncodingTests {
+
+        @Test
+        @DisplayName("Should hold task tags as an interned set equal to the original")
+        void shouldInternTags() {
+            Task task = new Task(10L, "Tagged", null, null, null,
+                new LinkedHashSet<>(List.of("ops", "backend")), null, null, null);
+
+            assertThat(task.tags()).isInstanceOf(TagSet.class)
+                .isEqualTo(Set.of("ops", "backend"))
+                .hasSameHashCodeAs(Set.of("ops", "backend"));
+            assertThat(task.tags()).contains("ops").doesNotContain("frontend");
+            assertThat(TagSet.copyOf(task.tags())).isSameAs(task.tags());
+        }
+
+        @Test
+        @DisplayName("Should match tag predicates and indexes by id")
+        void shouldMatchById() {
+            PredicateNode hasTag = new PredicateNode.HasTag("development");
+
+            assertThat(testTasks.stream().filter(hasTag).map(Task::id))
+                .containsExactly(1L, 2L);
+            assertThat(analyzer.findByTag("development")).extracting(Task::id)
+                .containsExactlyInAnyOrder(1L, 2L);
+            assertThat(analyzer.findByTag("never-used-anywhere")).isEmpty();
+            assertThat(TagDictionary.global().idOf("never-used-anywhere")).isEqualTo(-1);
+            assertThat(analyzer.getAllUniqueTags()).isEqualTo(testTasks.stream()
+                .flatMap(task -> task.tags().stream())
+                .collect(Collectors.toSet()));
+        }
+
+        @Test
+        @DisplayName("Should query unknown tags without interning them")
+        void shouldNotInternQueriedTags() {
+            TaskPredicate hasNewTag = TaskPredicate.hasTag("introduced-later");
+
+            assertThat(analyzer.filterTasks(hasNewTag)).isEmpty();
+            assertThat(TagDictionary.global().idOf("introduced-later")).isEqualTo(-1);
+
+            analyzer.add(new Task(7L, "Later", null, Task.Priority.LOW, Task.Status.TODO,
+                Set.of("introduced-later"), null, null, 1));
+
+            assertThat(analyzer.filterTasks(hasNewTag)).extracting(Task::id).containsExactly(7L);
+            assertThat(hasNewTag.test(analyzer.findTaskById(7L).orElseThrow())).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should compare tag predicates by tag alone")
+        void shouldCompareByTag() {
+            PredicateNode beforeInterning = new PredicateNode.HasTag("interned-in-between");
+            new Task(8L, "Between", null, null, null, Set.of("interned-in-between"), null, null, null);
+            PredicateNode afterInterning = new PredicateNode.HasTag("interned-in-between");
+
+            assertThat(beforeInterning).isEqualTo(afterInterning).hasSameHashCodeAs(afterInterning);
+            assertThat(beforeInterning).isNotEqualTo(new PredicateNode.HasTag("development"));
+        }
+
+        @Test
+        @DisplayName("Should expose interned tags as an immutable set in interning order")
+        void shouldPinTagSetContract() {
+            new Task(9L, "First", null, null, null, Set.of("zz-interned-first"), null, null, null);
+            Task task = new Task(10L, "Second", null, null, null,
+                new TreeSet<>(List.of("aa-interned-second", "zz-interned-first")), null, null, null);
+
+            assertThat(task.tags()).containsExactly("zz-interned-first", "aa-interned-second");
+            assertThatThrownBy(() -> task.tags().add("ops"))
+                .isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(() -> new Task(11L, "Null", null, null, null,
+                new HashSet<>(Arrays.asList("ops", null)), null, null, null))
+                .isInstanceOf(NullPointerException.class);
+            assertThat(new Task(12L, "Untagged", null, null, null, null, null, null, null).tags()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Query Cache")
+    class QueryCacheTests {
+
+        @Test
+        @DisplayName("Should serve repeated aggregates and equivalent predicates from the cache")
+        void shouldHitCache() {
+            TaskAnalyzer cached = TaskAnalyzer.builder(testTasks).queryCache(16).build();
+
+            Map<Task.Status, List<Task>> grouped = cached.groupByStatus();
+            assertThat(cached.groupByStatus()).isSameAs(grouped).isEqualTo(analyzer.groupByStatus());
+            assertThat(cached.getAllTagsSorted()).isSameAs(cached.getAllTagsSorted());
+            List<Task> filtered = cached.filterTasks(TaskPredicate.byStatus(Task.Status.TODO)
+                .and(TaskPredicate.hasTag("development")));
+            assertThat(cached.filterTasks(TaskPredicate.hasTag("development")
+                .and(TaskPredicate.byStatus(Task.Status.TODO).negate().negate())))
+                .isSameAs(filtered);
+
+            assertThat(cached.cacheStats())
+                .extracting(CacheStats::hits, CacheStats::misses, CacheStats::size)
+                .containsExactly(3L, 3L, 3);
+        }
+
+        @Test
+        @DisplayName("Should invalidate cached results when the tasks change")
+        void shouldInvalidateOnEdit() {
+            TaskAnalyzer cached = TaskAnalyzer.builder(testTasks).queryCache(16).build();
+            Map<Task.Priority, Long> before = cached.countTasksByPriority();
+
+            cached.update(TaskTransformer.withPriority(Task.Priority.LOW).apply(testTasks.get(0)));
+
+            Map<Task.Priority, Long> after = cached.countTasksByPriority();
+            assertThat(after).isNotEqualTo(before);
+            assertThat(after.get(Task.Priority.LOW)).isEqualTo(before.getOrDefault(Task.Priority.LOW, 0L) + 1);
+            assertThat(cached.cacheStats().invalidations()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should bypass the cache for opaque and clock-dependent predicates")
+        void shouldBypassUncacheablePredicates() {
+            TaskAnalyzer cached = TaskAnalyzer.builder(testTasks).queryCache(16).build();
+
+            cached.filterTasks(task -> task.estimatedHours() != null);
+            cached.filterTasks(TaskPredicate.isOverdue().and(TaskPredicate.isActive()));
+
+            assertThat(cached.cacheStats().misses()).isZero();
+            assertThat(analyzer.cacheStats().size()).isZero();
+            assertThatCode(() -> analyzer.groupByStatus().clear()).doesNotThrowAnyException();
+            assertThatThrownBy(() -> cached.groupByStatus().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+        }
+
+        @Test
+        @DisplayName("Should evict the least recently used result when full")
+        void shouldEvictLeastRecentlyUsed() {
+            TaskAnalyzer cached = TaskAnalyzer.builder(testTasks).queryCache(2).build();
+
+            cached.groupByStatus();
+            cached.countTasksByPriority();
+            cached.groupByStatus();
+            cached.getAllUniqueTags();
+            cached.groupByStatus();
+            cached.countTasksByPriority();
+
+            assertThat(cached.cacheStats())
+                .extracting(CacheStats::hits, CacheStats::misses, CacheStats::evictions)
+                .containsExactly(2L, 4L, 2L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Lazy Queries and Pagination")
+    class LazyQueryTests {
+
+        private List<Task> manyTasks(int count) {
+            List<Task> tasks = new ArrayList<>();
+            for (long id = 1; id <= count; id++) {
+                tasks.add(new Task(id, "Task " + id, null,
+                    id % 2 == 0 ? Task.Priority.HIGH : Task.Priority.LOW, Task.Status.TODO,
+                    Set.of(), null, null, 1));
+            }
+            return tasks;
+        }
+
+        @Test
+        @DisplayName("Should stream matching tasks lazily in insertion order")
+        void shouldStreamLazily() {
+            List<Task> tested = new ArrayList<>();
+            Optional<Task> first = analyzer.streamTasks(TaskPredicate.byStatus(Task.Status.TODO)
+                    .and(task -> tested.add(task)))
+                .findFirst();
+
+            assertThat(first).map(Task::id).hasValue(2L);
+            assertThat(tested).hasSize(1);
+            assertThat(analyzer.streamTasks(TaskPredicate.isActive()).toList())
+                .isEqualTo(analyzer.filterTasks(TaskPredicate.isActive()));
+            assertThat(analyzer.streamTaskTitles().limit(2)).containsExactly("Write unit tests", "Code review");
+            assertThat(analyzer.streamAllTagsSorted().toList()).isEqualTo(analyzer.getAllTagsSorted());
+        }
+
+        @Test
+        @DisplayName("Should page by offset and continue by cursor")
+        void shouldPage() {
+            TaskAnalyzer large = new TaskAnalyzer(manyTasks(100));
+            TaskPredicate high = TaskPredicate.byPriority(Task.Priority.HIGH);
+
+            TaskPage byOffset = large.page(high, 10, 5);
+            assertThat(byOffset.tasks()).extracting(Task::id).containsExactly(22L, 24L, 26L, 28L, 30L);
+            assertThat(byOffset.hasNext()).isTrue();
+
+            TaskPage next = large.page(high, byOffset.next(), 5);
+            assertThat(next.tasks()).extracting(Task::id).containsExactly(32L, 34L, 36L, 38L, 40L);
+            assertThat(large.page(high, 45, 10).hasNext()).isFalse();
+            assertThat(large.page(high, 50, 10).tasks()).isEmpty();
+            assertThatThrownBy(() -> large.page(high, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Should keep cursors valid across removals and compaction")
+        void shouldResumeAcrossCompaction() {
+            TaskAnalyzer large = new TaskAnalyzer(manyTasks(200));
+            TaskPage first = large.page(task -> task.id() % 10 == 0, 0, 3);
+            assertThat(first.tasks()).extracting(Task::id).containsExactly(10L, 20L, 30L);
+
+            for (long id = 1; id <= 150; id++) {
+                if (id != 40) {
+                    large.removeById(id);
+                }
+            }
+
+            assertThat(large.page(task -> task.id() % 10 == 0, first.next(), 3).tasks())
+                .extracting(Task::id).containsExactly(40L, 160L, 170L);
+        }
+
+        @Test
+        @DisplayName("Should answer match checks from the indexes or stop at the decisive task")
+        void shouldShortCircuitMatches() {
+            List<Task> tested = new ArrayList<>();
+
+            assertThat(analyzer.anyMatch(TaskPredicate.byStatus(Task.Status.CANCELLED))).isTrue();
+            assertThat(analyzer.anyMatch(TaskPredicate.hasTag("missing"))).isFalse();
+            assertThat(analyzer.allMatch(TaskPredicate.isActive())).isFalse();
+            assertThat(analyzer.allMatch(task -> tested.add(task) && task.estimatedHours() > 2)).isFalse();
+            assertThat(tested).extracting(Task::id).containsExactly(1L, 2L, 3L, 4L);
+            assertThat(analyzer.allMatch(task -> task.title() != null)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package edu.trincoll.store;
+
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MappedTaskFileTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 10, 0);
+
+    private static final List<Task> TASKS = List.of(
+        new Task(1L, "Write tests", "Cover the mapped reader", Task.Priority.HIGH, Task.Status.TODO,
+            Set.of("testing", "storage"), NOW.minusDays(2), NOW.minusHours(1), 8),
+        new Task(2L, "Write tests", null, Task.Priority.LOW, Task.Status.DONE,
+            Set.of("testing"), NOW.minusDays(1), NOW.minusHours(2), null),
+        new Task(null, "Résumé parser", "Non-ASCII title", null, null,
+            null, null, null, 5));
+
+    @TempDir
+    Path directory;
+
+    private MappedTaskFile writeAndOpen(List<Task> tasks) throws IOException {
+        Path file = directory.resolve("tasks.bin");
+        TaskFileWriter.write(file, tasks);
+        return MappedTaskFile.open(file);
+    }
+
+    @Nested
+    @DisplayName("Round Trip")
+    class RoundTripTests {
+
+        @Test
+        @DisplayName("Should read back every field, including nulls")
+        void shouldRoundTrip() throws IOException {
+            MappedTaskFile file = writeAndOpen(TASKS);
+
+            assertThat(file.asList()).isEqualTo(TASKS);
+            assertThat(file.task(2).tags()).isNull();
+            assertThat(file.tags()).containsExactlyInAnyOrder("testing", "storage");
+        }
+
+        @Test
+        @DisplayName("Should keep sub-second dates")
+        void shouldKeepNanos() throws IOException {
+            List<Task> tasks = List.of(new Task(4L, "Precise", null, Task.Priority.LOW, Task.Status.TODO,
+                Set.of(), NOW.minusNanos(1_500), NOW.withNano(999_999_999), null));
+
+            assertThat(writeAndOpen(tasks).asList()).isEqualTo(tasks);
+        }
+
+        @Test
+        @DisplayName("Should handle an empty task list")
+        void shouldHandleEmptyFiles() throws IOException {
+            MappedTaskFile file = writeAndOpen(List.of());
+
+            assertThat(file.size()).isZero();
+            assertThat(file.asList()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should reject files in another format")
+        void shouldRejectForeignFiles() throws IOException {
+            Path file = directory.resolve("other.bin");
+            Files.write(file, new byte[64]);
+
+            assertThatThrownBy(() -> MappedTaskFile.open(file)).isInstanceOf(IOException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Column Queries")
+    class ColumnQueryTests {
+
+        @Test
+        @DisplayName("Should match the in-memory store aggregates")
+        void shouldMatchTaskStore() throws IOException {
+            MappedTaskFile file = writeAndOpen(TASKS);
+            TaskStore store = TaskStore.of(TASKS);
+
+            assertThat(file.sumHours()).isEqualTo(store.sumHours());
+            assertThat(file.countHours()).isEqualTo(store.countHours());
+            assertThat(file.countByPriority()).isEqualTo(store.countByPriority());
+            assertThat(file.countByStatus()).isEqualTo(store.countByStatus());
+        }
+
+        @Test
+        @DisplayName("Should select rows by tag, status and due date")
+        void shouldSelectRows() throws IOException {
+            MappedTaskFile file = writeAndOpen(TASKS);
+
+            assertThat(file.rowsWithTag("testing").toArray()).containsExactly(0, 1);
+            assertThat(file.rowsWithTag("missing").isEmpty()).isTrue();
+            assertThat(file.rowsWithStatus(Task.Status.DONE).toArray()).containsExactly(1);
+            assertThat(file.tasks(file.rowsOverdue(NOW))).extracting(Task::id).containsExactly(1L);
+        }
+
+        @Test
+        @DisplayName("Should evaluate predicate trees on the mapped columns")
+        void shouldSelectByPredicate() throws IOException {
+            MappedTaskFile file = writeAndOpen(TASKS);
+            TaskPredicate untitled = task -> task.title().startsWith("R");
+
+            assertThat(file.select(TaskPredicate.hasTag("testing").and(TaskPredicate.isActive()), NOW).toArray())
+                .containsExactly(0);
+            assertThat(file.select(TaskPredicate.byStatus(Task.Status.DONE).negate(), NOW).toArray())
+                .containsExactly(0, 2);
+            assertThat(file.select(TaskPredicate.hasTag("missing"), NOW).isEmpty()).isTrue();
+            assertThat(file.select(untitled.or(TaskPredicate.byPriority(Task.Priority.LOW)), NOW).toArray())
+                .containsExactly(1, 2);
+        }
+
+        @Test
+        @DisplayName("Should decide overdue tasks exactly as Task.isOverdue does")
+        void shouldMatchTaskOverdue() throws IOException {
+            List<Task> tasks = List.of(
+                new Task(1L, "Just overdue", null, null, Task.Status.TODO, null, null, NOW.minusNanos(1), null),
+                new Task(2L, "Due now", null, null, Task.Status.TODO, null, null, NOW, null),
+                new Task(3L, "Due soon", null, null, Task.Status.TODO, null, null, NOW.plusNanos(1), null));
+            MappedTaskFile file = writeAndOpen(tasks);
+            LocalDateTime later = NOW.plusNanos(500_000_000);
+
+            for (LocalDateTime now : List.of(NOW, later)) {
+                assertThat(file.tasks(file.select(TaskPredicate.isOverdue(), now)))
+                    .isEqualTo(tasks.stream().filter(task -> task.isOverdue(now)).toList());
+                assertThat(file.rowsOverdue(now)).isEqualTo(file.select(TaskPredicate.isOverdue(), now));
+            }
+            assertThat(file.rowsOverdue(NOW).toArray()).containsExactly(0);
+        }
+    }
+}
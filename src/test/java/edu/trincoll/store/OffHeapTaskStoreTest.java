@@ -0,0 +1,157 @@
+package edu.trincoll.store;
+
+import edu.trincoll.functional.TaskPatch;
+import edu.trincoll.functional.TaskPredicate;
+import edu.trincoll.functional.TaskTransformer;
+import edu.trincoll.index.PostingList;
+import edu.trincoll.model.TagDictionary;
+import edu.trincoll.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OffHeapTaskStoreTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 10, 0);
+
+    private List<Task> tasks;
+    private OffHeapTaskStore store;
+
+    @BeforeEach
+    void setUp() {
+        tasks = List.of(
+            new Task(1L, "Write tests", "Cover the store", Task.Priority.HIGH, Task.Status.TODO,
+                Set.of("testing", "storage"), NOW.minusDays(2), NOW.minusHours(1), 8),
+            new Task(2L, "Ship it", null, Task.Priority.LOW, Task.Status.DONE,
+                Set.of("release"), NOW.minusDays(1), NOW.minusHours(2), null),
+            new Task(null, "Untitled", null, null, null, null, null, null, 5));
+        store = OffHeapTaskStore.of(tasks);
+    }
+
+    @Nested
+    @DisplayName("Records")
+    class RecordTests {
+
+        @Test
+        @DisplayName("Should copy every field back onto the heap")
+        void shouldRoundTrip() {
+            for (int row = 0; row < tasks.size(); row++) {
+                assertThat(store.task(row)).isEqualTo(tasks.get(row));
+            }
+            assertThat(store.tags()).containsExactlyInAnyOrder("testing", "storage", "release");
+        }
+
+        @Test
+        @DisplayName("Should store tags as ids from the shared dictionary")
+        void shouldShareTagDictionary() {
+            TaskView view = store.view().moveTo(0);
+
+            assertThat(view.hasTagId(TagDictionary.global().idOf("testing"))).isTrue();
+            assertThat(view.hasTag("never-tagged-off-heap")).isFalse();
+            assertThat(TagDictionary.global().idOf("never-tagged-off-heap")).isEqualTo(-1);
+            assertThat(store.select(TaskPredicate.hasTag("release"), NOW).toArray()).containsExactly(1);
+        }
+
+        @Test
+        @DisplayName("Should read fields in place through a movable view")
+        void shouldReadThroughView() {
+            TaskView view = store.view();
+
+            assertThat(view.moveTo(0).priority()).isEqualTo(Task.Priority.HIGH);
+            assertThat(view.hasTag("storage")).isTrue();
+            assertThat(view.isOverdue(TaskStore.toEpochSecond(NOW), NOW.getNano())).isTrue();
+            assertThat(view.moveTo(2).hasId()).isFalse();
+            assertThat(view.status()).isNull();
+            assertThat(view.hours()).isEqualTo(5);
+            assertThatThrownBy(() -> view.moveTo(3)).isInstanceOf(IndexOutOfBoundsException.class);
+        }
+
+        @Test
+        @DisplayName("Should span several chunks")
+        void shouldGrowAcrossChunks() {
+            OffHeapTaskStore large = new OffHeapTaskStore();
+            List<Task> many = new ArrayList<>();
+            for (long id = 0; id < 70_000; id++) {
+                Task task = new Task(id, "Task " + id, null, Task.Priority.MEDIUM, Task.Status.TODO,
+                    Set.of("tag" + id % 5), null, null, (int) (id % 10));
+                many.add(task);
+                large.add(task);
+            }
+
+            assertThat(large.task(69_999)).isEqualTo(many.get(69_999));
+            assertThat(large.sumHours()).isEqualTo(TaskStore.of(many).sumHours());
+        }
+    }
+
+    @Nested
+    @DisplayName("Predicates")
+    class PredicateTests {
+
+        @Test
+        @DisplayName("Should evaluate predicate trees on the records")
+        void shouldSelectWithPredicateTrees() {
+            assertThat(store.select(TaskPredicate.hasTag("testing").and(TaskPredicate.isActive()), NOW).toArray())
+                .containsExactly(0);
+            assertThat(store.select(TaskPredicate.isOverdue(), NOW).toArray()).containsExactly(0);
+            assertThat(store.select(TaskPredicate.byStatus(Task.Status.DONE).negate(), NOW).toArray())
+                .containsExactly(0, 2);
+            assertThat(store.select(TaskPredicate.hasTag("missing"), NOW).isEmpty()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should decide overdue tasks exactly as Task.isOverdue does")
+        void shouldMatchTaskOverdue() {
+            List<Task> precise = List.of(
+                new Task(1L, "Just overdue", null, null, Task.Status.TODO, null, null, NOW.minusNanos(1), null),
+                new Task(2L, "Due now", null, null, Task.Status.TODO, null, null, NOW, null),
+                new Task(3L, "Due soon", null, null, Task.Status.TODO, null, null, NOW.plusNanos(1), null));
+            OffHeapTaskStore records = OffHeapTaskStore.of(precise);
+
+            for (LocalDateTime now : List.of(NOW, NOW.plusNanos(500_000_000))) {
+                assertThat(records.select(TaskPredicate.isOverdue(), now).stream().mapToObj(records::task))
+                    .containsExactlyElementsOf(precise.stream().filter(task -> task.isOverdue(now)).toList());
+                assertThat(records.rowsOverdue(now)).isEqualTo(records.select(TaskPredicate.isOverdue(), now));
+            }
+            assertThat(records.select(TaskPredicate.isOverdue(), NOW).toArray()).containsExactly(0);
+            assertThat(records.task(0)).isEqualTo(precise.get(0));
+        }
+
+        @Test
+        @DisplayName("Should fall back to materialized tasks for custom predicates")
+        void shouldSupportCustomPredicates() {
+            TaskPredicate untitled = task -> task.title().startsWith("Untitled");
+
+            assertThat(store.select(untitled.or(TaskPredicate.byPriority(Task.Priority.LOW)), NOW).toArray())
+                .containsExactly(1, 2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Patches")
+    class PatchTests {
+
+        @Test
+        @DisplayName("Should patch records in place to match the patched tasks")
+        void shouldApplyInPlace() {
+            TaskPatch patch = (TaskPatch) TaskTransformer.withStatus(Task.Status.IN_PROGRESS)
+                .andThen(TaskTransformer.withPriority(null));
+
+            store.apply(patch, PostingList.of(1));
+
+            assertThat(store.task(0)).isEqualTo(tasks.get(0));
+            assertThat(store.task(1)).isEqualTo(patch.apply(tasks.get(1)));
+
+            store.apply(patch);
+
+            assertThat(store.countByStatus()[Task.Status.IN_PROGRESS.ordinal()]).isEqualTo(3);
+            assertThat(store.task(2)).isEqualTo(patch.apply(tasks.get(2)));
+        }
+    }
+}
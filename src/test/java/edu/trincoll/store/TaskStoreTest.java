@@ -0,0 +1,159 @@
+package edu.trincoll.store;
+
+import edu.trincoll.functional.TaskPatch;
+import edu.trincoll.functional.TaskTransformer;
+import edu.trincoll.index.PostingList;
+import edu.trincoll.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TaskStoreTest {
+    private static final LocalDateTime DUE = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private TaskStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = TaskStore.of(List.of(
+            new Task(1L, "One", null, Task.Priority.HIGH, Task.Status.TODO,
+                Set.of(), null, DUE, 8),
+            new Task(2L, "Two", null, Task.Priority.LOW, Task.Status.DONE,
+                Set.of(), null, null, null),
+            new Task(null, "Three", null, null, null,
+                Set.of(), null, null, 5)
+        ));
+    }
+
+    @Nested
+    @DisplayName("Columns")
+    class ColumnTests {
+
+        @Test
+        @DisplayName("Should encode nulls with sentinels and presence bits")
+        void nullEncoding() {
+            assertThat(store.size()).isEqualTo(3);
+            assertThat(store.hasId(2)).isFalse();
+            assertThat(store.priorityOrdinal(2)).isEqualTo(TaskStore.NO_ORDINAL);
+            assertThat(store.hasHours(1)).isFalse();
+            assertThat(store.dueDate(1)).isEqualTo(TaskStore.NO_DATE);
+            assertThat(store.dueDate(0)).isEqualTo(TaskStore.toEpochSecond(DUE));
+        }
+
+        @Test
+        @DisplayName("Should grow past the initial capacity")
+        void growth() {
+            TaskStore small = new TaskStore(1);
+            List<Task> tasks = new ArrayList<>();
+            for (long i = 0; i < 100; i++) {
+                tasks.add(new Task(i, "T" + i, null, Task.Priority.MEDIUM,
+                    Task.Status.TODO, Set.of(), null, null, 1));
+            }
+            tasks.forEach(small::add);
+
+            assertThat(small.size()).isEqualTo(100);
+            assertThat(small.id(99)).isEqualTo(99L);
+            assertThat(small.countHours()).isEqualTo(100);
+        }
+    }
+
+    @Nested
+    @DisplayName("Aggregates")
+    class AggregateTests {
+
+        @Test
+        @DisplayName("Should sum and count non-null hours")
+        void hours() {
+            assertThat(store.sumHours()).isEqualTo(13L);
+            assertThat(store.countHours()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should count ordinals and weights, ignoring nulls")
+        void ordinals() {
+            assertThat(store.countByPriority()).containsExactly(1, 0, 1, 0);
+            assertThat(store.countByStatus()).containsExactly(1, 0, 0, 1, 0);
+            assertThat(store.sumPriorityWeights()).isEqualTo(4L);
+        }
+
+        @Test
+        @DisplayName("Should reflect updated rows")
+        void update() {
+            store.set(1, new Task(2L, "Two", null, Task.Priority.CRITICAL,
+                Task.Status.DONE, Set.of(), null, null, 10));
+
+            assertThat(store.sumHours()).isEqualTo(23L);
+            assertThat(store.sumPriorityWeights()).isEqualTo(7L);
+            assertThatThrownBy(() -> store.set(3, null))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Aggregate Kernels")
+    class KernelTests {
+
+        @Test
+        @DisplayName("Should match the scalar kernels on every length")
+        void preferredMatchesScalar() {
+            AggregateKernels preferred = AggregateKernels.preferred();
+            AggregateKernels scalar = AggregateKernels.scalar();
+            Random random = new Random(7);
+
+            for (int length : new int[] {0, 1, 31, 1_000, 100_003}) {
+                int[] values = random.ints(length, 0, Integer.MAX_VALUE).toArray();
+                byte[] ordinals = new byte[length];
+                for (int i = 0; i < length; i++) {
+                    ordinals[i] = (byte) (random.nextInt(6) - 1);
+                }
+                int[] preferredCounts = new int[5];
+                int[] scalarCounts = new int[5];
+                preferred.countOrdinals(ordinals, length, preferredCounts);
+                scalar.countOrdinals(ordinals, length, scalarCounts);
+
+                assertThat(preferred.sum(values, length)).isEqualTo(scalar.sum(values, length));
+                assertThat(preferredCounts).isEqualTo(scalarCounts);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Patches")
+    class PatchTests {
+
+        @Test
+        @DisplayName("Should fill the patched columns of every row")
+        void shouldApplyToEveryRow() {
+            TaskPatch patch = (TaskPatch) TaskTransformer.withStatus(Task.Status.BLOCKED)
+                .andThen(TaskTransformer.withPriority(Task.Priority.CRITICAL));
+
+            store.apply(patch);
+
+            assertThat(store.countByStatus()[Task.Status.BLOCKED.ordinal()]).isEqualTo(3);
+            assertThat(store.countByPriority()[Task.Priority.CRITICAL.ordinal()]).isEqualTo(3);
+            assertThat(store.hours(0)).isEqualTo(8);
+        }
+
+        @Test
+        @DisplayName("Should patch only the selected rows and fields")
+        void shouldApplyToSelectedRows() {
+            store.apply((TaskPatch) TaskTransformer.withStatus(Task.Status.DONE), PostingList.of(0, 2));
+
+            assertThat(store.statusOrdinal(0)).isEqualTo(Task.Status.DONE.ordinal());
+            assertThat(store.statusOrdinal(2)).isEqualTo(Task.Status.DONE.ordinal());
+            assertThat(store.priorityOrdinal(0)).isEqualTo(Task.Priority.HIGH.ordinal());
+            assertThat(store.priorityOrdinal(2)).isEqualTo(TaskStore.NO_ORDINAL);
+            assertThatThrownBy(() -> store.apply((TaskPatch) TaskTransformer.withStatus(null), PostingList.of(3)))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        }
+    }
+}
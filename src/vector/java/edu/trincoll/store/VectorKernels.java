@@ -0,0 +1,55 @@
+package edu.trincoll.store;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels on the incubating Vector API. Only compiled with
+ * {@code -PvectorApi=true}; loaded reflectively by {@link AggregateKernels}.
+ */
+final class VectorKernels implements AggregateKernels {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = VectorSpecies.of(long.class, INTS.vectorShape());
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+
+    @Override
+    public long sum(int[] values, int length) {
+        // Widen each int vector into two long vectors so large totals cannot
+        // overflow inside a lane.
+        LongVector accumulator = LongVector.zero(LONGS);
+        int bound = INTS.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += INTS.length()) {
+            IntVector chunk = IntVector.fromArray(INTS, values, i);
+            accumulator = accumulator
+                .add((LongVector) chunk.convertShape(VectorOperators.I2L, LONGS, 0))
+                .add((LongVector) chunk.convertShape(VectorOperators.I2L, LONGS, 1));
+        }
+        long sum = accumulator.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public void countOrdinals(byte[] column, int length, int[] counts) {
+        int bound = BYTES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += BYTES.length()) {
+            ByteVector chunk = ByteVector.fromArray(BYTES, column, i);
+            for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+                counts[ordinal] += chunk.compare(VectorOperators.EQ, (byte) ordinal).trueCount();
+            }
+        }
+        for (; i < length; i++) {
+            int ordinal = column[i];
+            if (ordinal >= 0 && ordinal < counts.length) {
+                counts[ordinal]++;
+            }
+        }
+    }
+}